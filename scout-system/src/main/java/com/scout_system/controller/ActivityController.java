@@ -1,6 +1,5 @@
 package com.scout_system.controller;
 
-import java.util.List;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -13,8 +12,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import com.scout_system.model.Activity;
 import com.scout_system.service.ActivityService;
+import com.scout_system.util.JsonStreams;
 
 @RestController
 @RequestMapping("/activities")
@@ -23,6 +25,9 @@ public class ActivityController {
 	
 	@Autowired
 	private ActivityService activityService;
+
+	@Autowired
+	private JsonStreams jsonStreams;
 	
 	@PostMapping("/addActivity")
 	public ResponseEntity<?> addActivity(@RequestBody Activity activity) {
@@ -36,9 +41,8 @@ public class ActivityController {
 	}
 	
 	@GetMapping("/allActivities")
-	public ResponseEntity<List<Activity>> AllActivity() {
-		List<Activity> activities = activityService.getAllActivity();
-		return ResponseEntity.ok().body(activities);
+	public ResponseEntity<StreamingResponseBody> AllActivity(WebRequest request) {
+		return jsonStreams.respond(request, activityService::forEachActivity, "activity");
 	}
 	
 	@DeleteMapping("/delete/{id}")
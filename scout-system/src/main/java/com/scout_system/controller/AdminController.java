@@ -1,6 +1,7 @@
 package com.scout_system.controller;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.RestController;
 import com.scout_system.model.Admin;
 import com.scout_system.service.AdminService;
 import com.scout_system.service.DataCleanupScheduler;
+import com.scout_system.service.JobRunner;
 import java.util.Base64;
 
 import jakarta.servlet.http.HttpSession;
@@ -34,6 +36,9 @@ public class AdminController {
 	@Autowired
 	private DataCleanupScheduler cleanupScheduler;
 
+	@Autowired
+	private JobRunner jobRunner;
+
 	@GetMapping("/admin/profile/{username}")
 	public ResponseEntity<?> getAdminProfile(@PathVariable String username) {
 	    try {
@@ -191,4 +196,10 @@ public class AdminController {
 	    cleanupScheduler.forceCleanup();
 	    return ResponseEntity.ok("Cleanup completed successfully");
 	}
+
+	// Background jobs with their last and next runs
+	@GetMapping("/admin/jobs")
+	public ResponseEntity<List<Map<String, Object>>> getJobs() {
+		return ResponseEntity.ok(jobRunner.describe());
+	}
 }
\ No newline at end of file
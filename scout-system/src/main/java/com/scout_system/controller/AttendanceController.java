@@ -1,13 +1,18 @@
 package com.scout_system.controller;
 
 import java.time.LocalDate;
-import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,19 +20,32 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import com.scout_system.ScoutSystemApplication;
-import com.scout_system.model.Attendance;
-import com.scout_system.model.Member;
-import com.scout_system.model.Tax;
+import com.scout_system.dto.AttendanceExportRow;
+import com.scout_system.dto.CheckInResult;
+import com.scout_system.dto.CheckInScan;
+import com.scout_system.dto.LateMember;
+import com.scout_system.dto.TodayAttendance;
 import com.scout_system.service.AttendanceService;
+import com.scout_system.service.AttendanceStream;
+import com.scout_system.service.CategoryRegistry;
 import com.scout_system.service.MemberService;
+import com.scout_system.util.ExportStreams;
+import com.scout_system.util.TableVersions;
+import com.scout_system.util.WritePipeline;
 
 @RestController
 @RequestMapping("/attendance")
 @CrossOrigin(origins = "*")
 public class AttendanceController {
 
+	private static final Logger log = LoggerFactory.getLogger(AttendanceController.class);
+
 	private final ScoutSystemApplication scoutSystemApplication;
 
 	@Autowired
@@ -36,14 +54,26 @@ public class AttendanceController {
 	@Autowired
 	private MemberService memberService;
 
+	@Autowired
+	private WritePipeline writePipeline;
+
+	@Autowired
+	private AttendanceStream attendanceStream;
+
+	@Autowired
+	private TableVersions tableVersions;
+
+	@Autowired
+	private ExportStreams exportStreams;
+
 	AttendanceController(ScoutSystemApplication scoutSystemApplication) {
 		this.scoutSystemApplication = scoutSystemApplication;
 	}
 
+	// Polled lists answer 304 until one of their tables is written
 	@GetMapping("/allAttendancePerToday")
-	public ResponseEntity<List<Map<String, Object>>> getAllAttendancePerToday() {
-		List<Map<String, Object>> attendances = attendanceService.getAllAttendancesPerToday();
-		return ResponseEntity.ok(attendances);
+	public ResponseEntity<List<TodayAttendance>> getAllAttendancePerToday(WebRequest request) {
+		return tableVersions.respond(request, attendanceService::getAllAttendancesPerToday, "attendance", "members");
 	}
 
 	@GetMapping("/absentToday")
@@ -59,67 +89,42 @@ public class AttendanceController {
 	}
 
 	@PostMapping("/attend")
-	public ResponseEntity<?> attendMember(@RequestBody Map<String, Object> attendanceData) {
-		try {
-			String code = (String) attendanceData.get("code");
-			String category = (String) attendanceData.get("category");
-
-			if (!memberService.checkCode(code)) {
-				return ResponseEntity.status(404).body("Member not found");
-			}
-
-			if (attendanceService.hasAlreadyAttendedToday(code, category)) {
-				return ResponseEntity.status(400).body("Member has already attended today for category: " + category);
-			}
-
-			Member member = memberService.findById(code);
-
-			// Time of Egypt
-			ZoneId cairoZone = ZoneId.of("Africa/Cairo");
-			LocalTime now = LocalTime.now(cairoZone);
-
-			LocalTime cutoffTime;
-			switch (category) {
-			case "Scouts and Guides":
-				cutoffTime = LocalTime.of(12, 10); // Tax after 12:10 PM
-				break;
-			case "Cubs and Blossoms":
-				cutoffTime = LocalTime.of(12, 10); // Tax after 12:10 PM
-				break;
-			case "Buds":
-				cutoffTime = LocalTime.of(11, 40); // Tax after 11:40 AM
-				break;
-			default:
-				return ResponseEntity.badRequest().body("Invalid category");
-			}
-
-			Attendance attendance = new Attendance();
-			attendance.setMember(member);
-			attendance.setCategory(category);
-			attendance.setCheckInTime(now.format(DateTimeFormatter.ofPattern("hh:mm:ss a"))); // 12-hour format
-			attendance.setDateOfDay(LocalDate.now(cairoZone).format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
-			attendance.setStatus("Present");
+	public CompletableFuture<ResponseEntity<?>> attendMember(@RequestBody Map<String, Object> attendanceData) {
+		String code = (String) attendanceData.get("code");
+		String category = (String) attendanceData.get("category");
 
-			boolean isScoutLeader = "Scout Leader".equalsIgnoreCase(member.getTitle());
-
-			if (now.isAfter(cutoffTime) && !isScoutLeader) {
-				Tax tax = new Tax(attendance, -1);
-				attendance.setTaxes(List.of(tax));
-			}
-
-			Attendance saved = attendanceService.addAttendance(attendance);
+		return writePipeline.submit("checkIn", () -> attendanceService.checkIn(code, category))
+				.<ResponseEntity<?>>thenApply(result -> toResponse(result, category))
+				.exceptionally(this::errorResponse);
+	}
 
-			return ResponseEntity.ok(Map.of("id", saved.getId(), "memberCode", code, "category", saved.getCategory(),
-					"checkInTime", saved.getCheckInTime(), "dateOfDay", saved.getDateOfDay(), "status",
-					saved.getStatus(), "amount",
-					saved.getTaxes() != null ? saved.getTaxes().stream().mapToInt(Tax::getAmount).sum() : 0));
+	// Replays a scanner's offline buffer in one transaction
+	@PostMapping("/attendBatch")
+	public CompletableFuture<ResponseEntity<?>> attendBatch(@RequestBody List<CheckInScan> scans) {
+		return writePipeline.submit("checkInBatch", () -> attendanceService.checkInBatch(scans))
+				.<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+				.exceptionally(this::errorResponse);
+	}
 
-		} catch (Exception e) {
-			e.printStackTrace();
-			return ResponseEntity.status(500).body("Error marking attendance: " + e.getMessage());
+	private ResponseEntity<?> toResponse(CheckInResult result, String category) {
+		switch (result.outcome()) {
+		case MEMBER_NOT_FOUND:
+			return ResponseEntity.status(404).body("Member not found");
+		case ALREADY_ATTENDED:
+			return ResponseEntity.status(400).body("Member has already attended today for category: " + category);
+		case INVALID_CATEGORY:
+			return ResponseEntity.badRequest().body("Invalid category");
+		default:
+			return ResponseEntity.ok(result.toResponse());
 		}
 	}
 
+	private ResponseEntity<String> errorResponse(Throwable error) {
+		Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+		log.error("Check-in failed", cause);
+		return ResponseEntity.status(500).body("Error marking attendance: " + cause.getMessage());
+	}
+
 	@GetMapping("/checkAttendance/{code}/{category}")
 	public ResponseEntity<?> checkAttendance(@PathVariable String code, @PathVariable String category) {
 		try {
@@ -130,10 +135,16 @@ public class AttendanceController {
 		}
 	}
 
+	// Live updates for the attendance pages, instead of polling
+	@GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter stream() {
+		return attendanceStream.subscribe();
+	}
+
 	@GetMapping("/lateToday")
-	public ResponseEntity<?> getLateMembersToday() {
-		List<Map<String, Object>> result = attendanceService.findLateMembersByDate();
-		return ResponseEntity.ok(result);
+	public ResponseEntity<List<LateMember>> getLateMembersToday(WebRequest request) {
+		return tableVersions.respond(request, attendanceService::findLateMembersByDate, "attendance", "taxes",
+				"members");
 	}
 
 	@GetMapping("/lastCheckIn")
@@ -150,22 +161,34 @@ public class AttendanceController {
 		}
 	}
 
-	@GetMapping("/scouts-and-guides")
-	public ResponseEntity<List<Map<String, Object>>> getScoutsAndGuides() {
-	    List<Map<String, Object>> result = attendanceService.getScoutsAndGuidesAttendanceByDate();
-	    return result.isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(result);
-	}
-
-	@GetMapping("/cubs-and-blossoms")
-	public ResponseEntity<List<Map<String, Object>>> getCubsAndBlossoms() {
-	    List<Map<String, Object>> result = attendanceService.getCubsAndBlossomsAttendanceByDate();
-	    return result.isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(result);
+	// Today's check-ins of every category (or one) in a single query
+	@GetMapping("/today/byCategory")
+	public ResponseEntity<?> getTodayByCategory(@RequestParam(required = false) String category, WebRequest request) {
+		try {
+			return tableVersions.respond(request, () -> attendanceService.getTodayByCategory(category), "attendance",
+					"members");
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
 	}
 
-	@GetMapping("/buds")
-	public ResponseEntity<List<Map<String, Object>>> getBuds() {
-	    List<Map<String, Object>> result = attendanceService.getBudsAttendanceByDate();
-	    return result.isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(result);
+	// Attendance history from..to (inclusive) as a CSV or XLSX download, read and written row by row
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportAttendance(
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+			@RequestParam(required = false) String category, @RequestParam(defaultValue = "csv") String format) {
+		try {
+			CategoryRegistry.filter(category); // an unknown one is rejected before the download starts
+			if (to.isBefore(from)) {
+				return exportStreams.badRequest("to must not be before from");
+			}
+			return exportStreams.respond(format, "attendance-" + from + "-to-" + to, AttendanceExportRow.COLUMNS,
+					AttendanceExportRow::cells,
+					action -> attendanceService.forEachAttendanceBetween(from, to, category, action));
+		} catch (IllegalArgumentException e) {
+			return exportStreams.badRequest(e.getMessage());
+		}
 	}
 
 }
@@ -0,0 +1,34 @@
+package com.scout_system.controller;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.scout_system.service.DashboardService;
+import com.scout_system.util.TableVersions;
+
+@RestController
+@RequestMapping("/dashboard")
+@CrossOrigin(origins = "*")
+public class DashboardController {
+
+	@Autowired
+	private DashboardService dashboardService;
+
+	@Autowired
+	private TableVersions tableVersions;
+
+	// All headline counts in one round trip; an unchanged dashboard
+	// revalidates to a bodyless 304 without running the counts
+	@GetMapping("/summary")
+	public ResponseEntity<Map<String, Object>> getSummary(WebRequest request) {
+		return tableVersions.respond(request, dashboardService::getSummary, "members", "attendance", "taxes",
+				"activity");
+	}
+}
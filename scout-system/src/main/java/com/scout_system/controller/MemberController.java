@@ -1,10 +1,8 @@
 package com.scout_system.controller;
 
-import java.time.LocalDate;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.apache.catalina.connector.Response;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,13 +15,18 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import com.scout_system.model.Attendance;
+import com.scout_system.dto.CheckInResult;
 import com.scout_system.model.Member;
-import com.scout_system.model.Tax;
 import com.scout_system.service.AttendanceService;
 import com.scout_system.service.MemberService;
+import com.scout_system.util.JsonStreams;
+import com.scout_system.util.TableVersions;
+import com.scout_system.util.WritePipeline;
 
 @RestController
 @RequestMapping("/members")
@@ -37,24 +40,57 @@ public class MemberController {
 	@Autowired
 	private AttendanceService attendanceService;
 
+	@Autowired
+	private WritePipeline writePipeline;
+
+	@Autowired
+	private TableVersions tableVersions;
+
+	@Autowired
+	private JsonStreams jsonStreams;
+
 	// Add Member
 	@PostMapping("/addMember")
 	public ResponseEntity<?> addMember(@RequestBody Member member) {
 
 		if (memberService.checkCode(member.getCode())) {
 			return ResponseEntity.badRequest().body("The code already exists");
-		} else {
+		}
+		try {
 			Member savedMember = memberService.addMember(member);
 			return ResponseEntity.ok(savedMember);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
 		}
 
 	}
 
 	// Get All Member
 	@GetMapping("/allMembers")
-	public ResponseEntity<List<Member>> getAllMembers() {
-		List<Member> members = memberService.getAllMembers();
-		return ResponseEntity.ok(members);
+	public ResponseEntity<StreamingResponseBody> getAllMembers(WebRequest request) {
+		return jsonStreams.respond(request, memberService::forEachMember, "members");
+	}
+
+	// One page of the member list, sorted and filtered in SQLite; pass the
+	// returned nextCursor to get the following page
+	@GetMapping("/page")
+	public ResponseEntity<?> getMemberPage(@RequestParam(defaultValue = "code") String sort,
+			@RequestParam(required = false) String category, @RequestParam(required = false) String title,
+			@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "50") int limit,
+			WebRequest request) {
+		try {
+			return tableVersions.respond(request,
+					() -> memberService.getMemberPage(sort, category, title, cursor, limit), "members");
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	// Typeahead for the members page
+	@GetMapping("/search")
+	public ResponseEntity<?> searchMembers(@RequestParam String q, @RequestParam(defaultValue = "20") int limit,
+			WebRequest request) {
+		return tableVersions.respond(request, () -> memberService.searchMembers(q, limit), "members");
 	}
 
 	// Update Member
@@ -65,7 +101,11 @@ public class MemberController {
 		}
 
 		member.setCode(code);
-		memberService.addMember(member);
+		try {
+			memberService.addMember(member);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
 		return ResponseEntity.ok("Member updated successfully");
 	}
 
@@ -94,44 +134,32 @@ public class MemberController {
 
 	// Mark Attendance
 	@PostMapping("/attend")
-	public ResponseEntity<?> attendMember(@RequestBody Map<String, Object> attendanceData) {
-		try {
-			String code = (String) attendanceData.get("code");
-			String category = (String) attendanceData.get("category");
-			int amount = attendanceData.get("amount") != null ? ((Number) attendanceData.get("amount")).intValue() : 0;
-
-			if (!memberService.checkCode(code)) {
-				return ResponseEntity.status(404).body("Member not found");
-			}
-
-			if (attendanceService.hasAlreadyAttendedToday(code, category)) {
-				return ResponseEntity.status(400).body("Member has already attended today for category: " + category);
-			}
-
-			Member member = memberService.findById(code);
-
-			Attendance attendance = new Attendance();
-			attendance.setMember(member);
-			attendance.setCategory(category);
-			attendance.setCheckInTime(LocalTime.now().format(DateTimeFormatter.ofPattern("hh:mm:ss a")));
-			attendance.setDateOfDay(LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
-			attendance.setStatus("Present");
-
-			// Create tax if amount > 0 AND member is NOT a Scout Leader
-			if (amount > 0 && !"Scout Leader".equalsIgnoreCase(member.getTitle())) {
-				Tax tax = new Tax(attendance, amount);
-				attendance.setTaxes(List.of(tax));
-			}
-
-			Attendance saved = attendanceService.addAttendance(attendance);
-
-			return ResponseEntity.ok(Map.of("id", saved.getId(), "memberCode", code, "category", saved.getCategory(),
-					"checkInTime", saved.getCheckInTime(), "dateOfDay", saved.getDateOfDay(), "status",
-					saved.getStatus(), "amount",
-					saved.getTaxes() != null ? saved.getTaxes().stream().mapToInt(Tax::getAmount).sum() : 0));
+	public CompletableFuture<ResponseEntity<?>> attendMember(@RequestBody Map<String, Object> attendanceData) {
+		String code = (String) attendanceData.get("code");
+		String category = (String) attendanceData.get("category");
+		int amount = attendanceData.get("amount") != null ? ((Number) attendanceData.get("amount")).intValue() : 0;
+
+		// Tax is created only if amount > 0 AND member is NOT a Scout Leader
+		return writePipeline.submit("checkIn", () -> attendanceService.checkIn(code, category, amount))
+				.<ResponseEntity<?>>thenApply(result -> toResponse(result, category))
+				.exceptionally(error -> {
+					Throwable cause = error instanceof CompletionException && error.getCause() != null
+							? error.getCause()
+							: error;
+					return ResponseEntity.status(500).body("Error marking attendance: " + cause.getMessage());
+				});
+	}
 
-		} catch (Exception e) {
-			return ResponseEntity.status(500).body("Error marking attendance: " + e.getMessage());
+	private ResponseEntity<?> toResponse(CheckInResult result, String category) {
+		switch (result.outcome()) {
+		case MEMBER_NOT_FOUND:
+			return ResponseEntity.status(404).body("Member not found");
+		case ALREADY_ATTENDED:
+			return ResponseEntity.status(400).body("Member has already attended today for category: " + category);
+		case INVALID_CATEGORY:
+			return ResponseEntity.badRequest().body("Invalid category");
+		default:
+			return ResponseEntity.ok(result.toResponse());
 		}
 	}
 
@@ -153,8 +181,8 @@ public class MemberController {
 	
 	
 	@GetMapping("/not-sent")
-    public List<Member> getAllNotSentMembers() {
-        return memberService.getAllNotSentMembers();
+    public ResponseEntity<StreamingResponseBody> getAllNotSentMembers(WebRequest request) {
+        return jsonStreams.respond(request, memberService::forEachNotSentMember, "members");
     }
 
     @PutMapping("/{code}/mark-sent")
@@ -1,9 +1,13 @@
 package com.scout_system.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -11,9 +15,19 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.scout_system.dto.TaxExportRow;
+import com.scout_system.dto.UpdatedTax;
+import com.scout_system.service.CategoryRegistry;
 import com.scout_system.service.TaxService;
+import com.scout_system.util.ExportStreams;
+import com.scout_system.util.JsonStreams;
+import com.scout_system.util.TableVersions;
+import com.scout_system.util.WritePipeline;
 
 @RestController
 @RequestMapping("/taxes")
@@ -23,14 +37,27 @@ public class TaxController {
 	@Autowired
 	private TaxService taxService;
 
+	@Autowired
+	private WritePipeline writePipeline;
+
+	@Autowired
+	private TableVersions tableVersions;
+
+	@Autowired
+	private JsonStreams jsonStreams;
+
+	@Autowired
+	private ExportStreams exportStreams;
+
+	// Polled lists answer 304 until one of their tables is written
 	@GetMapping("/dailyTotal")
-	public List<Map<String, Object>> getDailyTotal() {
-		return taxService.getTotalTaxPerDay();
+	public ResponseEntity<StreamingResponseBody> getDailyTotal(WebRequest request) {
+		return jsonStreams.respond(request, taxService::forEachDailyTotal, "taxes", "attendance");
 	}
 
 	@GetMapping("/monthlyTotal")
-	public List<Map<String, Object>> getTotalTaxPerMonth() {
-		return taxService.getTotalTaxPerMonthWithMonthName();
+	public ResponseEntity<List<Map<String, Object>>> getTotalTaxPerMonth(WebRequest request) {
+		return tableVersions.respond(request, taxService::getTotalTaxPerMonthWithMonthName, "taxes", "attendance");
 	}
 
 	@GetMapping("/totalRevenue")
@@ -46,50 +73,68 @@ public class TaxController {
 	}
 
 	@GetMapping("/totalTransactions")
-	public ResponseEntity<Long> getTotalTransactionDays() {
-		Long total = taxService.getTotalTransactionDays();
-		return ResponseEntity.ok(total);
+	public ResponseEntity<Long> getTotalTransactionDays(WebRequest request) {
+		return tableVersions.respond(request, taxService::getTotalTransactionDays, "taxes", "attendance");
 	}
 
-	@GetMapping("/today/scoutsAndGuides")
-	public List<Map<String, Object>> getTodaysScoutsAndGuidesAttendance() {
-		return taxService.getTodaysScoutsAndGuidesAttendanceWithTax();
+	// Today's paid check-ins of every category (or one) in a single query
+	@GetMapping("/today/byCategory")
+	public ResponseEntity<?> getTodaysAttendanceByCategory(@RequestParam(required = false) String category,
+			WebRequest request) {
+		try {
+			return tableVersions.respond(request, () -> taxService.getTodaysAttendanceWithTax(category), "taxes",
+					"attendance", "members");
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
 	}
 
-	@GetMapping("/today/cubsAndBlossoms")
-	public List<Map<String, Object>> getTodaysCubsAndBlossomsAttendance() {
-		return taxService.getTodaysCubsAndBlossomsAttendanceWithTax();
+	// Tax history from..to (inclusive) as a CSV or XLSX download, read and written row by row
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportTaxes(
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+			@RequestParam(required = false) String category, @RequestParam(defaultValue = "csv") String format) {
+		try {
+			CategoryRegistry.filter(category); // an unknown one is rejected before the download starts
+			if (to.isBefore(from)) {
+				return exportStreams.badRequest("to must not be before from");
+			}
+			return exportStreams.respond(format, "taxes-" + from + "-to-" + to, TaxExportRow.COLUMNS,
+					TaxExportRow::cells, action -> taxService.forEachTaxBetween(from, to, category, action));
+		} catch (IllegalArgumentException e) {
+			return exportStreams.badRequest(e.getMessage());
+		}
 	}
 
-	@GetMapping("/today/buds")
-	public List<Map<String, Object>> getTodaysBudsAttendance() {
-		return taxService.getTodaysBudsAttendanceWithTax();
+	@PostMapping("/updateAmount")
+	public CompletableFuture<ResponseEntity<?>> updateTaxAmount(@RequestBody Map<String, Object> data) {
+		Long taxId;
+		int amount;
+		try {
+			taxId = ((Number) data.get("taxId")).longValue();
+			amount = ((Number) data.get("amount")).intValue();
+		} catch (RuntimeException e) {
+			return CompletableFuture.completedFuture(errorResponse(e));
+		}
+
+		return writePipeline.submit("updateTaxAmount", () -> taxService.updateTaxAmount(taxId, amount))
+				.<ResponseEntity<?>>thenApply(done -> ResponseEntity.ok(Map.of(
+						"message", "Tax updated successfully",
+						"taxId", taxId,
+						"newAmount", amount)))
+				.exceptionally(this::errorResponse);
 	}
 
-	@PostMapping("/updateAmount")
-	public ResponseEntity<?> updateTaxAmount(@RequestBody Map<String, Object> data) {
-	    try {
-	        Long taxId = ((Number) data.get("taxId")).longValue();
-	        int amount = ((Number) data.get("amount")).intValue(); 
-	        
-	        taxService.updateTaxAmount(taxId, amount);
-	        
-	        return ResponseEntity.ok(Map.of(
-	            "message", "Tax updated successfully", 
-	            "taxId", taxId, 
-	            "newAmount", amount
-	        ));
-	    } catch (Exception e) {
-	        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-	            .body(Map.of("error", "Error updating tax: " + e.getMessage()));
-	    }
+	private ResponseEntity<?> errorResponse(Throwable error) {
+		Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+		return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+				.body(Map.of("error", "Error updating tax: " + cause.getMessage()));
 	}
-	
-	
-	
+
 	@GetMapping("/updatedTaxMembers")
-	public ResponseEntity<List<Map<String, Object>>> getMembersWithUpdatedTax() {
-	    return ResponseEntity.ok(taxService.getMembersWithUpdatedTax());
+	public ResponseEntity<List<UpdatedTax>> getMembersWithUpdatedTax(WebRequest request) {
+	    return tableVersions.respond(request, taxService::getMembersWithUpdatedTax, "taxes", "attendance", "members");
 	}
 
 
@@ -3,12 +3,15 @@ package com.scout_system.controller;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.scout_system.model.Member;
 import com.scout_system.service.MemberService;
 import com.scout_system.service.WhatsAppSchedulerService;
+import com.scout_system.util.JsonStreams;
+import com.scout_system.util.TableVersions;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/whatsapp")
@@ -21,6 +24,12 @@ public class WhatsAppController {
     @Autowired
     private WhatsAppSchedulerService whatsAppScheduler;
 
+    @Autowired
+    private TableVersions tableVersions;
+
+    @Autowired
+    private JsonStreams jsonStreams;
+
     @PostMapping("/send/{code}")
     public String sendMessage(@PathVariable String code) {
         return whatsAppScheduler.sendMessageToMember(code);
@@ -37,13 +46,13 @@ public class WhatsAppController {
     }
 
     @GetMapping("/pending")
-    public List<Member> getPendingMembers() {
-        return memberService.getAllNotSentMembers();
+    public ResponseEntity<StreamingResponseBody> getPendingMembers(WebRequest request) {
+        return jsonStreams.respond(request, memberService::forEachNotSentMember, "members");
     }
 
     @GetMapping("/pending/count")
-    public int getPendingCount() {
-        return memberService.getAllNotSentMembers().size();
+    public ResponseEntity<Integer> getPendingCount(WebRequest request) {
+        return tableVersions.respond(request, () -> memberService.getAllNotSentMembers().size(), "members");
     }
 
     @PutMapping("/reset/{code}")
@@ -0,0 +1,23 @@
+package com.scout_system.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.scout_system.util.CheckInTimes;
+
+// A row of the attendance history export, built by the query itself
+public record AttendanceExportRow(LocalDate date, String memberCode, String fullName, String category,
+		String status, String checkInTime) {
+
+	public static final List<String> COLUMNS = List.of("Date", "Code", "Name", "Category", "Status",
+			"Check-in Time");
+
+	public AttendanceExportRow(LocalDate date, String memberCode, String fullName, String category, String status,
+			Long checkInAt) {
+		this(date, memberCode, fullName, category, status, CheckInTimes.format(checkInAt));
+	}
+
+	public Object[] cells() {
+		return new Object[] { date, memberCode, fullName, category, status, checkInTime };
+	}
+}
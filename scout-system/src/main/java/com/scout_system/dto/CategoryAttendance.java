@@ -0,0 +1,7 @@
+package com.scout_system.dto;
+
+import java.time.LocalDate;
+
+// A row of one category's attendance for today
+public record CategoryAttendance(LocalDate date, String code, String name, String category, String status) {
+}
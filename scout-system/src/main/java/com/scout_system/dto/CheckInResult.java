@@ -0,0 +1,32 @@
+package com.scout_system.dto;
+
+import java.util.Map;
+
+public record CheckInResult(Outcome outcome, Long id, String memberCode, String category, String checkInTime,
+		String dateOfDay, String status, int amount) {
+
+	// STALE_SCAN: a buffered scan from before today's batch window
+	public enum Outcome {
+		CHECKED_IN, ALREADY_ATTENDED, MEMBER_NOT_FOUND, INVALID_CATEGORY, STALE_SCAN
+	}
+
+	public static CheckInResult checkedIn(Long id, String memberCode, String category, String checkInTime,
+			String dateOfDay, int amount) {
+		return new CheckInResult(Outcome.CHECKED_IN, id, memberCode, category, checkInTime, dateOfDay, "Present",
+				amount);
+	}
+
+	public static CheckInResult rejected(Outcome outcome, String memberCode, String category) {
+		return new CheckInResult(outcome, null, memberCode, category, null, null, null, 0);
+	}
+
+	public boolean isCheckedIn() {
+		return outcome == Outcome.CHECKED_IN;
+	}
+
+	// Same body the attend endpoints have always returned
+	public Map<String, Object> toResponse() {
+		return Map.of("id", id, "memberCode", memberCode, "category", category, "checkInTime", checkInTime,
+				"dateOfDay", dateOfDay, "status", status, "amount", amount);
+	}
+}
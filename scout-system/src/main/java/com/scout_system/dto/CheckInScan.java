@@ -0,0 +1,7 @@
+package com.scout_system.dto;
+
+import java.time.Instant;
+
+// One buffered scan; timestamp is when the gate read the code (defaults to now)
+public record CheckInScan(String code, String category, Instant timestamp) {
+}
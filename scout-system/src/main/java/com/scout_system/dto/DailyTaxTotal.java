@@ -0,0 +1,15 @@
+package com.scout_system.dto;
+
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.util.Locale;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+// Tax collected on one day; day is the English weekday name
+public record DailyTaxTotal(@JsonFormat(pattern = "dd-MM-yyyy") LocalDate date, long totalAmount, String day) {
+
+	public DailyTaxTotal(LocalDate date, Long totalAmount) {
+		this(date, totalAmount, date.getDayOfWeek().getDisplayName(TextStyle.FULL, Locale.ENGLISH));
+	}
+}
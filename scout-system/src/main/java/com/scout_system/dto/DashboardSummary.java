@@ -0,0 +1,6 @@
+package com.scout_system.dto;
+
+// Dashboard totals, read by one statement (DashboardRepository.getDashboardSummary)
+public record DashboardSummary(long totalMembers, long totalActivities, long upcomingActivities,
+		long completedActivities) {
+}
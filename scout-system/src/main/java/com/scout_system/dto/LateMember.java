@@ -0,0 +1,14 @@
+package com.scout_system.dto;
+
+import java.time.LocalDate;
+
+import com.scout_system.util.CheckInTimes;
+
+// A member who came late today; id is the tax row's
+public record LateMember(Long id, String code, String fullName, String category, LocalDate dateOfDay,
+		String checkInTime) {
+
+	public LateMember(Long id, String code, String fullName, String category, LocalDate dateOfDay, Long checkInAt) {
+		this(id, code, fullName, category, dateOfDay, CheckInTimes.format(checkInAt));
+	}
+}
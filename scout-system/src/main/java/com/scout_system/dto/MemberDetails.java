@@ -0,0 +1,7 @@
+package com.scout_system.dto;
+
+// A member as the full lists send it, field for field what the Member entity
+// serializes to, read straight from the row so a streamed list keeps no entities
+public record MemberDetails(String code, String fullName, String title, String dateOfBirth, String phone,
+		String address, String category, boolean sent) {
+}
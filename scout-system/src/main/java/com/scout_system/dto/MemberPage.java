@@ -0,0 +1,7 @@
+package com.scout_system.dto;
+
+import java.util.List;
+
+// nextCursor is null on the last page
+public record MemberPage(List<MemberSummary> members, String nextCursor) {
+}
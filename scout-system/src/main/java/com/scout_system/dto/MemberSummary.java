@@ -0,0 +1,6 @@
+package com.scout_system.dto;
+
+// One row of the member list: what the table and the PDF export show, without
+// loading the Member entity; category reads like Member.getCategory()
+public record MemberSummary(String code, String fullName, String title, String phone, String category) {
+}
@@ -0,0 +1,19 @@
+package com.scout_system.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// A row of the tax history export; a late fee not yet collected (-1) counts as 0
+public record TaxExportRow(LocalDate date, String memberCode, String fullName, String category, int amount,
+		boolean pending) {
+
+	public static final List<String> COLUMNS = List.of("Date", "Code", "Name", "Category", "Amount", "Status");
+
+	public TaxExportRow(LocalDate date, String memberCode, String fullName, String category, int amount) {
+		this(date, memberCode, fullName, category, Math.max(amount, 0), amount < 0);
+	}
+
+	public Object[] cells() {
+		return new Object[] { date, memberCode, fullName, category, amount, pending ? "Pending" : "Paid" };
+	}
+}
@@ -0,0 +1,15 @@
+package com.scout_system.dto;
+
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.util.Locale;
+
+// A member who paid today in a category; day is the English weekday name
+public record TaxedAttendance(String memberCode, String memberName, String category, LocalDate date, String day,
+		int amount) {
+
+	public TaxedAttendance(String memberCode, String memberName, String category, LocalDate date, int amount) {
+		this(memberCode, memberName, category, date,
+				date.getDayOfWeek().getDisplayName(TextStyle.FULL, Locale.ENGLISH), amount);
+	}
+}
@@ -0,0 +1,15 @@
+package com.scout_system.dto;
+
+import java.time.LocalDate;
+
+import com.scout_system.util.CheckInTimes;
+
+// A row of today's attendance list, built by the query itself
+public record TodayAttendance(Long id, String memberCode, String fullName, String category, String status,
+		String checkInTime, LocalDate dateOfDay) {
+
+	public TodayAttendance(Long id, String memberCode, String fullName, String category, String status,
+			Long checkInAt, LocalDate dateOfDay) {
+		this(id, memberCode, fullName, category, status, CheckInTimes.format(checkInAt), dateOfDay);
+	}
+}
@@ -0,0 +1,15 @@
+package com.scout_system.dto;
+
+import java.time.LocalDate;
+
+import com.scout_system.util.CheckInTimes;
+
+// A tax set by hand today (anything but the -1 late marker)
+public record UpdatedTax(String code, String fullName, String category, LocalDate dateOfDay, String checkInTime,
+		int amount) {
+
+	public UpdatedTax(String code, String fullName, String category, LocalDate dateOfDay, Long checkInAt,
+			int amount) {
+		this(code, fullName, category, dateOfDay, CheckInTimes.format(checkInAt), amount);
+	}
+}
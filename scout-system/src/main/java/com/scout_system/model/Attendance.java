@@ -1,26 +1,33 @@
 package com.scout_system.model;
 
 import java.time.LocalDate;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.scout_system.util.CategoryConverter;
+import com.scout_system.util.CheckInTimes;
+import com.scout_system.util.LocalDateAttributeConverter;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
 @Entity
-@Table(name = "attendance")
+@Table(name = "attendance", uniqueConstraints = @UniqueConstraint(name = "uk_attendance_member_day_category", columnNames = {
+		"member_code", "date_of_day", "category_id" }), indexes = {
+				@Index(name = "idx_attendance_day_category_status", columnList = "date_of_day, category_id, status"),
+				@Index(name = "idx_attendance_day_check_in", columnList = "date_of_day, check_in_at") })
 public class Attendance {
 
 	@Id
@@ -35,11 +42,15 @@ public class Attendance {
 	@Column(name = "member_code", insertable = false, updatable = false)
 	private String memberCode;
 
+	// Stored as ISO "yyyy-MM-dd" text, which sorts like the date itself so
+	// range predicates can use the date_of_day indexes
 	@Column(nullable = false)
-	private String dateOfDay = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+	@Convert(converter = LocalDateAttributeConverter.class)
+	private LocalDate dateOfDay = LocalDate.now();
 
-	@Column(nullable = false)
-	private String checkInTime = LocalTime.now().format(DateTimeFormatter.ofPattern("hh:mm:ss a"));
+	// Epoch millis; null for members marked absent
+	@Column(name = "check_in_at")
+	private Long checkInAt;
 
 	@Column(nullable = false)
 	private String status = "Absent"; // attend or absent
@@ -47,19 +58,22 @@ public class Attendance {
 	@OneToMany(mappedBy = "attendance", cascade = CascadeType.ALL, orphanRemoval = true)
 	private List<Tax> taxes;
 
-	@Column(nullable = false)
+	// The default only lets ddl-auto add the column to an existing table;
+	// SchemaMigrations fills in the real ids
+	@Column(name = "category_id", nullable = false, columnDefinition = "integer not null default 0")
+	@Convert(converter = CategoryConverter.class)
 	private String category;
 
 	public Attendance() {
 	}
 
-	public Attendance(Long id, Member member, String dateOfDay, String checkInTime, String status, List<Tax> taxes,
+	public Attendance(Long id, Member member, LocalDate dateOfDay, Long checkInAt, String status, List<Tax> taxes,
 			String category) {
 		super();
 		this.id = id;
 		this.member = member;
 		this.dateOfDay = dateOfDay;
-		this.checkInTime = checkInTime;
+		this.checkInAt = checkInAt;
 		this.status = status;
 		this.taxes = taxes;
 		this.category = category;
@@ -84,20 +98,25 @@ public class Attendance {
 		}
 	}
 
-	public String getDateOfDay() {
+	public LocalDate getDateOfDay() {
 		return dateOfDay;
 	}
 
-	public void setDateOfDay(String dateOfDay) {
+	public void setDateOfDay(LocalDate dateOfDay) {
 		this.dateOfDay = dateOfDay;
 	}
 
-	public String getCheckInTime() {
-		return checkInTime;
+	@JsonIgnore
+	public Long getCheckInAt() {
+		return checkInAt;
 	}
 
-	public void setCheckInTime(String checkInTime) {
-		this.checkInTime = checkInTime;
+	public void setCheckInAt(Long checkInAt) {
+		this.checkInAt = checkInAt;
+	}
+
+	public String getCheckInTime() {
+		return CheckInTimes.format(checkInAt);
 	}
 
 	public String getStatus() {
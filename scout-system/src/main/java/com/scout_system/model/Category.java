@@ -0,0 +1,71 @@
+package com.scout_system.model;
+
+import java.time.LocalTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "categories")
+public class Category {
+
+	// Small fixed ids, seeded by SchemaMigrations
+	@Id
+	private Integer id;
+
+	@Column(nullable = false, unique = true)
+	private String name;
+
+	// Check-ins after this time owe the late tax
+	@Column(nullable = false)
+	private LocalTime lateAfter;
+
+	// Members without a check-in by this time are marked absent
+	@Column(nullable = false)
+	private LocalTime absentAt;
+
+	public Category() {
+	}
+
+	public Category(Integer id, String name, LocalTime lateAfter, LocalTime absentAt) {
+		this.id = id;
+		this.name = name;
+		this.lateAfter = lateAfter;
+		this.absentAt = absentAt;
+	}
+
+	public Integer getId() {
+		return id;
+	}
+
+	public void setId(Integer id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public LocalTime getLateAfter() {
+		return lateAfter;
+	}
+
+	public void setLateAfter(LocalTime lateAfter) {
+		this.lateAfter = lateAfter;
+	}
+
+	public LocalTime getAbsentAt() {
+		return absentAt;
+	}
+
+	public void setAbsentAt(LocalTime absentAt) {
+		this.absentAt = absentAt;
+	}
+
+}
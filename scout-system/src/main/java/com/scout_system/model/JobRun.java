@@ -0,0 +1,72 @@
+package com.scout_system.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+// One row per (job, day) that has run, so missed days can be found and a
+// re-run just overwrites the row
+@Entity
+@Table(name = "job_runs")
+public class JobRun {
+
+	@EmbeddedId
+	private JobRunId id;
+
+	@Column(nullable = false)
+	private String triggeredBy; // cron or catch-up
+
+	@Column(nullable = false)
+	private int rowsAffected;
+
+	@Column(nullable = false)
+	private long durationMs;
+
+	@Column(nullable = false)
+	private long finishedAt; // epoch millis
+
+	public JobRun() {
+	}
+
+	public JobRun(JobRunId id) {
+		this.id = id;
+	}
+
+	public JobRunId getId() {
+		return id;
+	}
+
+	public String getTriggeredBy() {
+		return triggeredBy;
+	}
+
+	public void setTriggeredBy(String triggeredBy) {
+		this.triggeredBy = triggeredBy;
+	}
+
+	public int getRowsAffected() {
+		return rowsAffected;
+	}
+
+	public void setRowsAffected(int rowsAffected) {
+		this.rowsAffected = rowsAffected;
+	}
+
+	public long getDurationMs() {
+		return durationMs;
+	}
+
+	public void setDurationMs(long durationMs) {
+		this.durationMs = durationMs;
+	}
+
+	public long getFinishedAt() {
+		return finishedAt;
+	}
+
+	public void setFinishedAt(long finishedAt) {
+		this.finishedAt = finishedAt;
+	}
+
+}
@@ -0,0 +1,57 @@
+package com.scout_system.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import com.scout_system.util.LocalDateAttributeConverter;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Embeddable;
+
+@Embeddable
+public class JobRunId implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	@Column(nullable = false)
+	private String job;
+
+	@Column(nullable = false)
+	@Convert(converter = LocalDateAttributeConverter.class)
+	private LocalDate day;
+
+	public JobRunId() {
+	}
+
+	public JobRunId(String job, LocalDate day) {
+		this.job = job;
+		this.day = day;
+	}
+
+	public String getJob() {
+		return job;
+	}
+
+	public LocalDate getDay() {
+		return day;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof JobRunId)) {
+			return false;
+		}
+		JobRunId that = (JobRunId) other;
+		return Objects.equals(job, that.job) && Objects.equals(day, that.day);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(job, day);
+	}
+}
@@ -1,19 +1,35 @@
 package com.scout_system.model;
 
 
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.scout_system.service.CategoryRegistry;
+import com.scout_system.util.CategoryConverter;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "members")
+@Table(name = "members", indexes = @Index(name = "idx_members_full_name_code", columnList = "full_name, code"))
 public class Member {
 
 	@Id
@@ -35,8 +51,15 @@ public class Member {
 	@Column(nullable = false)
 	private String address;
 
-	@Column(nullable = false)
-	private String category;
+	// A member can belong to several categories; stored by id in
+	// member_categories and exposed to the UI as "Scouts and Guides, Buds"
+	@ElementCollection(fetch = FetchType.EAGER)
+	@Fetch(FetchMode.SUBSELECT)
+	@CollectionTable(name = "member_categories", joinColumns = @JoinColumn(name = "member_code"), indexes = @Index(name = "idx_member_categories_category", columnList = "category_id"))
+	@Column(name = "category_id", nullable = false)
+	@Convert(converter = CategoryConverter.class)
+	@JsonIgnore
+	private Set<String> categories = new LinkedHashSet<>();
 
 	@Column(name = "is_sent", nullable = false)
 	private boolean isSent = false;
@@ -60,7 +83,7 @@ public class Member {
 		this.dateOfBirth = dateOfBirth;
 		this.phone = phone;
 		this.address = address;
-		this.category = category;
+		setCategory(category);
 		this.isSent = isSent;
 		this.attendances = attendances;
 	}
@@ -116,11 +139,30 @@ public class Member {
 	}
 
 	public String getCategory() {
-		return category;
+		return categories.stream().map(CategoryRegistry::find).filter(Objects::nonNull)
+				.sorted(Comparator.comparing(Category::getId)).map(Category::getName)
+				.collect(Collectors.joining(", "));
 	}
 
+	// Known names are stored as spelled in the categories table; an unknown one
+	// is kept as typed so MemberService.addMember can reject it
 	public void setCategory(String category) {
-		this.category = category;
+		categories.clear();
+		if (category == null) {
+			return;
+		}
+		for (String name : category.split(",")) {
+			String trimmed = name.trim();
+			if (trimmed.isEmpty()) {
+				continue;
+			}
+			Category known = CategoryRegistry.find(trimmed);
+			categories.add(known != null ? known.getName() : trimmed);
+		}
+	}
+
+	public Set<String> getCategories() {
+		return categories;
 	}
 
 	public boolean isSent() {
@@ -1,14 +1,21 @@
 package com.scout_system.repository;
 
 import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import com.scout_system.model.Activity;
+import jakarta.persistence.QueryHint;
 
 public interface ActivityRepository extends JpaRepository<Activity, Long> {
 	
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"))
+	Stream<Activity> streamAllBy();
+
 	@Query("SELECT a FROM Activity a WHERE a.status = 'upcoming'")
 	List<Activity> findUpcomingActivities();
 	
@@ -1,33 +1,64 @@
 package com.scout_system.repository;
 
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import com.scout_system.dto.AttendanceExportRow;
+import com.scout_system.dto.CategoryAttendance;
+import com.scout_system.dto.LateMember;
+import com.scout_system.dto.TodayAttendance;
 import com.scout_system.model.Attendance;
 
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
 
-public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
+public interface AttendanceRepository extends JpaRepository<Attendance, Long>, AttendanceRepositoryCustom {
 
+	// Absent rows are pre-materialized, so they only count once the category's
+	// register has closed
 	@Query("SELECT CASE WHEN COUNT(a) > 0 THEN true ELSE false END " + "FROM Attendance a "
-			+ "WHERE a.member.code = :memberCode " + "AND a.dateOfDay = :dateOfDay " + "AND a.category = :category")
-	boolean hasAlreadyAttendedToday(@Param("memberCode") String memberCode, @Param("dateOfDay") String dateOfDay,
-			@Param("category") String category);
+			+ "WHERE a.member.code = :memberCode " + "AND a.dateOfDay = :dateOfDay " + "AND a.category = :category "
+			+ "AND (a.status = 'Present' OR :includeAbsent = true)")
+	boolean hasAlreadyAttendedToday(@Param("memberCode") String memberCode, @Param("dateOfDay") LocalDate dateOfDay,
+			@Param("category") String category, @Param("includeAbsent") boolean includeAbsent);
+
+	@Query("SELECT a.memberCode, a.category, a.status FROM Attendance a WHERE a.dateOfDay = :dateOfDay")
+	List<Object[]> findAdmissionsByDateOfDay(@Param("dateOfDay") LocalDate dateOfDay);
+
+	// The rows getCountPresentToday and getCountAbsentToday count, for the
+	// in-memory live counters
+	@Query("""
+			SELECT a.memberCode, a.status
+			FROM Attendance a
+			JOIN a.member m
+			WHERE a.dateOfDay = :dateOfDay
+			  AND (a.status = 'Absent' OR LOWER(m.title) <> 'scout leader')
+			  AND (a.status <> 'Absent' OR a.category IN :closed)
+			""")
+	List<Object[]> findCountedStatusesByDateOfDay(@Param("dateOfDay") LocalDate dateOfDay,
+			@Param("closed") List<String> closed);
 
 	@Query("""
-			SELECT a.id, a.memberCode, m.fullName, a.category, a.status, a.checkInTime, a.dateOfDay
+			SELECT new com.scout_system.dto.TodayAttendance(
+			    a.id, a.memberCode, m.fullName, a.category, a.status, a.checkInAt, a.dateOfDay)
 			FROM Attendance a
 			JOIN Member m ON a.memberCode = m.code
 			WHERE a.dateOfDay = :dateOfDay
 			  AND m.title <> 'Scout Leader'
-			ORDER BY a.checkInTime DESC
+			  AND (a.status <> 'Absent' OR a.category IN :closed)
+			ORDER BY a.checkInAt DESC
 			""")
-	List<Object[]> findAllWithNamesByDateOfDay(@Param("dateOfDay") String dateOfDay);
+	List<TodayAttendance> findAllWithNamesByDateOfDay(@Param("dateOfDay") LocalDate dateOfDay,
+			@Param("closed") List<String> closed);
 
 	@Query("""
 			    SELECT COUNT(DISTINCT a.member.code)
@@ -37,65 +68,130 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
 			      AND a.status = 'Present'
 			      AND LOWER(m.title) <> 'scout leader'
 			""")
-	Long getCountPresentToday(@Param("today") String today);
+	Long getCountPresentToday(@Param("today") LocalDate today);
 
+	// Scout leaders never get a pre-materialized Absent row
 	@Query("""
-			    SELECT COUNT(DISTINCT a.member.code)
+			    SELECT COUNT(DISTINCT a.memberCode)
 			    FROM Attendance a
-			    JOIN a.member m
 			    WHERE a.dateOfDay = :today
 			      AND a.status = 'Absent'
-			      AND LOWER(m.title) <> 'scout leader'
+			      AND a.category IN :closed
 			""")
-	Long getCountAbsentToday(@Param("today") String today);
+	Long getCountAbsentToday(@Param("today") LocalDate today, @Param("closed") List<String> closed);
 
 	@Query("""
-			SELECT new map(
-			t.id as id,
-			m.code as code,
-			m.fullName as fullName,
-			a.category as category,
-			a.dateOfDay as dateOfDay,
-			a.checkInTime as checkInTime
-			)
+			SELECT new com.scout_system.dto.LateMember(
+			    t.id, m.code, m.fullName, a.category, a.dateOfDay, a.checkInAt)
 			FROM Tax t
 			JOIN t.attendance a
 			JOIN a.member m
 			WHERE t.amount = -1
 			AND a.dateOfDay = :today
-			ORDER BY a.checkInTime DESC
+			ORDER BY a.checkInAt DESC
 			""")
-	List<Map<String, Object>> findLateMembersByDate(@Param("today") String today);
+	List<LateMember> findLateMembersByDate(@Param("today") LocalDate today);
 
 	@Query("""
-			    SELECT MAX(a.checkInTime)
+			    SELECT MAX(a.checkInAt)
 			    FROM Attendance a
 			    JOIN a.member m
 			    WHERE a.dateOfDay = :today
 			      AND LOWER(m.title) <> 'scout leader'
 			      AND a.status <> 'Absent'
 			""")
-	String getLastCheckInTimeByDate(@Param("today") String today);
+	Long getLastCheckInAtByDate(@Param("today") LocalDate today);
 
-	boolean existsByMemberCodeAndDateOfDayAndCategory(String memberCode, String dateOfDay, String category);
+	// The check-in itself: flips the member's pre-materialized Absent row for
+	// the day and category through the unique key. Null when there is none
+	// (scout leaders, a category the member isn't registered in, or already
+	// present), and the caller falls back to insertCheckIn
+	@Query(value = """
+			UPDATE attendance SET status = 'Present', check_in_at = :checkInAt
+			WHERE member_code = :memberCode
+			  AND date_of_day = :dateOfDay
+			  AND category_id = :categoryId
+			  AND status = 'Absent'
+			RETURNING id
+			""", nativeQuery = true)
+	Long markPresent(@Param("memberCode") String memberCode, @Param("categoryId") int categoryId,
+			@Param("dateOfDay") String dateOfDay, @Param("checkInAt") long checkInAt);
+
+	// Skips the insert when the member is unknown or already has a row for this
+	// day and category (uk_attendance_member_day_category)
+	@Modifying
+	@Query(value = """
+			INSERT INTO attendance (member_code, category_id, check_in_at, date_of_day, status)
+			SELECT m.code, :categoryId, :checkInAt, :dateOfDay, 'Present'
+			FROM members m
+			WHERE m.code = :memberCode
+			ON CONFLICT (member_code, date_of_day, category_id) DO NOTHING
+			""", nativeQuery = true)
+	int insertCheckIn(@Param("memberCode") String memberCode, @Param("categoryId") int categoryId,
+			@Param("dateOfDay") String dateOfDay, @Param("checkInAt") long checkInAt);
 
+	// Marks every member of the category without a row for the day absent,
+	// scout leaders excepted, in one statement. Run on a category's first scan
+	// of the day to materialize its roster, and again at absent_at for
+	// categories nobody scanned into
+	@Modifying
 	@Query(value = """
-		    SELECT
-		        a.date_of_day as date,
-		        a.member_code as code,
-		        m.full_name as name,
-		        a.category as category,
-		        a.status as status
-		    FROM attendance a
-		    INNER JOIN members m ON m.code = a.member_code
-		    WHERE a.date_of_day = :today
-		        AND a.category = :category
-		    ORDER BY a.check_in_time DESC
-		    """, nativeQuery = true)
-		List<Object[]> findAttendanceByCategory(@Param("category") String category, @Param("today") String today);
-		
+			INSERT INTO attendance (member_code, category_id, date_of_day, status)
+			SELECT mc.member_code, mc.category_id, :dateOfDay, 'Absent'
+			FROM member_categories mc
+			JOIN members m ON m.code = mc.member_code
+			WHERE mc.category_id = :categoryId
+			  AND LOWER(m.title) <> 'scout leader'
+			  AND NOT EXISTS (
+			      SELECT 1 FROM attendance a
+			      WHERE a.member_code = mc.member_code
+			        AND a.date_of_day = :dateOfDay
+			        AND a.category_id = mc.category_id)
+			""", nativeQuery = true)
+	int insertAbsentees(@Param("categoryId") int categoryId, @Param("dateOfDay") String dateOfDay);
+
+	// Meeting days in a window: at least one member checked in
+	@Query("SELECT DISTINCT a.dateOfDay FROM Attendance a WHERE a.dateOfDay BETWEEN :from AND :to AND a.status = 'Present' ORDER BY a.dateOfDay")
+	List<LocalDate> findMeetingDaysBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+	@Query(value = "SELECT last_insert_rowid()", nativeQuery = true)
+	Long lastInsertId();
+
+	boolean existsByMemberCodeAndDateOfDayAndCategory(String memberCode, LocalDate dateOfDay, String category);
+
+	@Query("""
+			SELECT new com.scout_system.dto.CategoryAttendance(
+			    a.dateOfDay, a.memberCode, m.fullName, a.category, a.status)
+			FROM Attendance a
+			JOIN a.member m
+			WHERE a.dateOfDay = :today
+			  AND (:category IS NULL OR a.category = :category)
+			  AND (a.status <> 'Absent' OR a.category IN :closed)
+			ORDER BY a.category, a.checkInAt DESC
+			""")
+	List<CategoryAttendance> findTodayByCategory(@Param("today") LocalDate today,
+			@Param("category") String category, @Param("closed") List<String> closed);
+
+	// Attendance history for the exports, both ends of the range included,
+	// optionally one category; today's Absent rows only for closed registers.
+	// Read inside a transaction
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"))
+	@Query("""
+			SELECT new com.scout_system.dto.AttendanceExportRow(
+			    a.dateOfDay, a.memberCode, m.fullName, a.category, a.status, a.checkInAt)
+			FROM Attendance a
+			JOIN a.member m
+			WHERE a.dateOfDay BETWEEN :from AND :to
+			  AND (:category IS NULL OR a.category = :category)
+			  AND (a.status <> 'Absent' OR a.dateOfDay < :today OR a.category IN :closed)
+			ORDER BY a.dateOfDay, a.category, a.memberCode
+			""")
+	Stream<AttendanceExportRow> streamHistory(@Param("from") LocalDate from, @Param("to") LocalDate to,
+			@Param("category") String category, @Param("today") LocalDate today,
+			@Param("closed") List<String> closed);
+
 	@Modifying
 	@Query("DELETE FROM Attendance a WHERE a.dateOfDay < :cutoffDate")
-	int deleteOldRecords(@Param("cutoffDate") String cutoffDate);
+	int deleteOldRecords(@Param("cutoffDate") LocalDate cutoffDate);
 
 }
@@ -0,0 +1,13 @@
+package com.scout_system.repository;
+
+import java.util.List;
+
+import com.scout_system.model.Attendance;
+
+public interface AttendanceRepositoryCustom {
+
+	// JDBC batch insert; a pre-materialized Absent row for the member, day and
+	// category is flipped instead, any other existing row is skipped. Sets the
+	// row id on each attendance written
+	boolean[] insertCheckIns(List<Attendance> attendances);
+}
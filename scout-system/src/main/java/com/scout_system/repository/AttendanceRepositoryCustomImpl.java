@@ -0,0 +1,85 @@
+package com.scout_system.repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.scout_system.model.Attendance;
+import com.scout_system.model.Category;
+import com.scout_system.service.CategoryRegistry;
+
+public class AttendanceRepositoryCustomImpl implements AttendanceRepositoryCustom {
+
+	private final JdbcTemplate jdbcTemplate;
+	private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+	public AttendanceRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+	}
+
+	@Override
+	public boolean[] insertCheckIns(List<Attendance> attendances) {
+		boolean[] inserted = new boolean[attendances.size()];
+		if (attendances.isEmpty()) {
+			return inserted;
+		}
+
+		int[][] counts = jdbcTemplate.batchUpdate("""
+				INSERT INTO attendance (member_code, category_id, check_in_at, date_of_day, status)
+				VALUES (?, ?, ?, ?, ?)
+				ON CONFLICT (member_code, date_of_day, category_id) DO UPDATE
+				SET status = excluded.status, check_in_at = excluded.check_in_at
+				WHERE attendance.status = 'Absent'
+				""", attendances, attendances.size(), (ps, attendance) -> {
+			ps.setString(1, attendance.getMember().getCode());
+			ps.setInt(2, CategoryRegistry.find(attendance.getCategory()).getId());
+			ps.setObject(3, attendance.getCheckInAt());
+			ps.setString(4, attendance.getDateOfDay().toString());
+			ps.setString(5, attendance.getStatus());
+		});
+		for (int i = 0; i < inserted.length; i++) {
+			inserted[i] = counts[0][i] > 0;
+		}
+
+		// SQLite can't hand back generated keys for a batch, so read them back
+		// per day with one indexed query on the unique key
+		Map<LocalDate, List<Attendance>> byDay = new HashMap<>();
+		for (int i = 0; i < inserted.length; i++) {
+			if (inserted[i]) {
+				byDay.computeIfAbsent(attendances.get(i).getDateOfDay(), day -> new ArrayList<>())
+						.add(attendances.get(i));
+			}
+		}
+		byDay.forEach(this::assignIds);
+
+		return inserted;
+	}
+
+	private void assignIds(LocalDate dateOfDay, List<Attendance> attendances) {
+		MapSqlParameterSource params = new MapSqlParameterSource()
+				.addValue("dateOfDay", dateOfDay.toString())
+				.addValue("codes", attendances.stream().map(a -> a.getMember().getCode()).distinct()
+						.collect(Collectors.toList()));
+
+		Map<String, Long> ids = new HashMap<>();
+		namedJdbcTemplate.query("""
+				SELECT id, member_code, category_id FROM attendance
+				WHERE date_of_day = :dateOfDay AND member_code IN (:codes)
+				""", params, rs -> {
+			ids.put(rs.getString("member_code") + '\n' + rs.getInt("category_id"), rs.getLong("id"));
+		});
+
+		for (Attendance attendance : attendances) {
+			Category category = CategoryRegistry.find(attendance.getCategory());
+			attendance.setId(ids.get(attendance.getMember().getCode() + '\n' + category.getId()));
+		}
+	}
+}
@@ -0,0 +1,9 @@
+package com.scout_system.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.scout_system.model.Category;
+
+public interface CategoryRepository extends JpaRepository<Category, Integer> {
+
+}
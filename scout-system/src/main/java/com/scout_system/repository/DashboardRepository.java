@@ -0,0 +1,33 @@
+package com.scout_system.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.scout_system.dto.DashboardSummary;
+
+// Dashboard totals across members and activities; not tied to one entity, so
+// it is read with JDBC rather than declared on one of their repositories
+@Repository
+public class DashboardRepository {
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public DashboardRepository(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	// Same counts as getCountAllMember and the activity counts, as scalar
+	// subqueries of one statement; today's numbers come from LiveCounters
+	@Transactional(readOnly = true)
+	public DashboardSummary getDashboardSummary() {
+		return jdbcTemplate.queryForObject("""
+				SELECT
+				    (SELECT COUNT(*) FROM members) AS total_members,
+				    (SELECT COUNT(*) FROM activity) AS total_activities,
+				    (SELECT COUNT(*) FROM activity WHERE status = 'upcoming') AS upcoming_activities,
+				    (SELECT COUNT(*) FROM activity WHERE status = 'completed') AS completed_activities
+				""", (rs, rowNum) -> new DashboardSummary(rs.getLong("total_members"), rs.getLong("total_activities"),
+				rs.getLong("upcoming_activities"), rs.getLong("completed_activities")));
+	}
+}
@@ -0,0 +1,18 @@
+package com.scout_system.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.scout_system.model.JobRun;
+import com.scout_system.model.JobRunId;
+
+public interface JobRunRepository extends JpaRepository<JobRun, JobRunId> {
+
+	@Query("SELECT r.id FROM JobRun r WHERE r.id.day >= :from")
+	List<JobRunId> findRunsSince(@Param("from") LocalDate from);
+
+}
@@ -2,13 +2,19 @@ package com.scout_system.repository;
 
 
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import com.scout_system.model.Member;
 
+import jakarta.persistence.QueryHint;
+
 public interface MemberRepository extends JpaRepository<Member, String>{
 	
 	
@@ -16,18 +22,94 @@ public interface MemberRepository extends JpaRepository<Member, String>{
 	void deleteByCode(String code);
 	Member findByCode(String code);
 	
+	@Query("SELECT m.title FROM Member m WHERE m.code = :code")
+	String findTitleByCode(@Param("code") String code);
+
 	@Query("SELECT COUNT(m) FROM Member m")
 	Long getCountAllMember();
 
-	@Query("SELECT m FROM Member m WHERE LOWER(m.category) LIKE LOWER(CONCAT('%', :category, '%'))")
+	@Query("SELECT m FROM Member m JOIN m.categories c WHERE c = :category")
 	List<Member> findByCategory(@Param("category") String category);
 
 	@Query("SELECT m FROM Member m WHERE m.isSent = false")
     List<Member> findAllNotSent();
 
+	// Every member (or only those not yet messaged) as plain rows for the
+	// streamed lists: code, full_name, title, date_of_birth, phone, address,
+	// comma separated category ids, is_sent. Read inside a transaction
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"))
+	@Query(value = """
+			SELECT m.code, m.full_name, m.title, m.date_of_birth, m.phone, m.address,
+			       (SELECT group_concat(mc.category_id) FROM member_categories mc WHERE mc.member_code = m.code),
+			       m.is_sent
+			FROM members m
+			WHERE (:notSentOnly = 0 OR m.is_sent = 0)
+			ORDER BY m.code
+			""", nativeQuery = true)
+	Stream<Object[]> streamMemberRows(@Param("notSentOnly") boolean notSentOnly);
+
 	@Query("SELECT COUNT(m) FROM Member m WHERE m.isSent = true")
 	Long totalMessageSent();
-	
 
+	// Keyset pages for the member list: the rows after the cursor, in primary
+	// key or idx_members_full_name_code order, so a page costs the same however
+	// deep it is. Category ids come back comma separated
+	@Query(value = """
+			SELECT m.code, m.full_name, m.title, m.phone,
+			       (SELECT group_concat(mc.category_id) FROM member_categories mc WHERE mc.member_code = m.code)
+			FROM members m
+			WHERE m.code > :afterCode
+			  AND (:title IS NULL OR LOWER(m.title) = LOWER(:title))
+			  AND (:categoryId IS NULL OR EXISTS (SELECT 1 FROM member_categories mc
+			       WHERE mc.member_code = m.code AND mc.category_id = :categoryId))
+			ORDER BY m.code
+			LIMIT :limit
+			""", nativeQuery = true)
+	List<Object[]> findPageByCode(@Param("afterCode") String afterCode, @Param("title") String title,
+			@Param("categoryId") Integer categoryId, @Param("limit") int limit);
+
+	@Query(value = """
+			SELECT m.code, m.full_name, m.title, m.phone,
+			       (SELECT group_concat(mc.category_id) FROM member_categories mc WHERE mc.member_code = m.code)
+			FROM members m
+			WHERE (m.full_name, m.code) > (:afterName, :afterCode)
+			  AND (:title IS NULL OR LOWER(m.title) = LOWER(:title))
+			  AND (:categoryId IS NULL OR EXISTS (SELECT 1 FROM member_categories mc
+			       WHERE mc.member_code = m.code AND mc.category_id = :categoryId))
+			ORDER BY m.full_name, m.code
+			LIMIT :limit
+			""", nativeQuery = true)
+	List<Object[]> findPageByName(@Param("afterName") String afterName, @Param("afterCode") String afterCode,
+			@Param("title") String title, @Param("categoryId") Integer categoryId, @Param("limit") int limit);
+
+	// member_search (FTS5, created in SchemaMigrations) holds normalized copies
+	// of the searchable fields; query is an FTS5 expression of prefix terms
+	@Query(value = """
+			SELECT m.code, m.full_name, m.title, m.phone,
+			       (SELECT group_concat(mc.category_id) FROM member_categories mc WHERE mc.member_code = m.code)
+			FROM member_search
+			JOIN members m ON m.code = member_search.code
+			WHERE member_search MATCH :query
+			ORDER BY member_search.rank
+			LIMIT :limit
+			""", nativeQuery = true)
+	List<Object[]> searchMembers(@Param("query") String query, @Param("limit") int limit);
+
+	@Modifying
+	@Query(value = """
+			INSERT INTO member_search (code, full_name, phone, address)
+			VALUES (:code, :fullName, :phone, :address)
+			""", nativeQuery = true)
+	int insertSearchEntry(@Param("code") String code, @Param("fullName") String fullName,
+			@Param("phone") String phone, @Param("address") String address);
 
+	// Found through the full-text index; code alone would scan member_search
+	@Modifying
+	@Query(value = """
+			DELETE FROM member_search
+			WHERE rowid IN (SELECT rowid FROM member_search
+			                WHERE member_search MATCH 'code:"' || replace(:code, '"', '""') || '"')
+			  AND code = :code
+			""", nativeQuery = true)
+	int deleteSearchEntry(@Param("code") String code);
 }
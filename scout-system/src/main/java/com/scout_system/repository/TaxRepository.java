@@ -1,166 +1,100 @@
 package com.scout_system.repository;
 
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import com.scout_system.dto.TaxExportRow;
+import com.scout_system.dto.TaxedAttendance;
+import com.scout_system.dto.UpdatedTax;
 import com.scout_system.model.Tax;
 
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
 
-public interface TaxRepository extends JpaRepository<Tax, Long> {
+public interface TaxRepository extends JpaRepository<Tax, Long>, TaxRepositoryCustom {
 
+	// The revenue reports read tax_daily_summary (SchemaMigrations), one row
+	// per day and category kept in step with taxes by triggers, instead of
+	// aggregating every tax row. Day totals as date_of_day and amount, newest
+	// first; the day and month views are built from these in TaxServiceImpl
 	@Query(value = """
-			    SELECT
-			        strftime('%d-%m-%Y', a.date_of_day) AS date,
-			        SUM(t.amount) AS totalAmount,
-			        CASE strftime('%w', a.date_of_day)
-			            WHEN '0' THEN 'Sunday'
-			            WHEN '1' THEN 'Monday'
-			            WHEN '2' THEN 'Tuesday'
-			            WHEN '3' THEN 'Wednesday'
-			            WHEN '4' THEN 'Thursday'
-			            WHEN '5' THEN 'Friday'
-			            WHEN '6' THEN 'Saturday'
-			        END AS day
-			    FROM taxes t
-			    JOIN attendance a ON t.attendance_id = a.id
-			    WHERE t.amount > 0
-			    GROUP BY strftime('%d-%m-%Y', a.date_of_day)
-			    ORDER BY strftime('%Y-%m-%d', a.date_of_day) DESC
+			SELECT date_of_day, SUM(total_amount)
+			FROM tax_daily_summary
+			GROUP BY date_of_day
+			HAVING SUM(total_amount) > 0
+			ORDER BY date_of_day DESC
 			""", nativeQuery = true)
-	List<Map<String, Object>> getTotalTaxPerDay();
+	Stream<Object[]> getTotalTaxPerDay();
+
+	@Query(value = "SELECT SUM(total_amount) FROM tax_daily_summary", nativeQuery = true)
+	Long getAllAmount();
 
+	// from inclusive, to exclusive, as ISO dates
 	@Query(value = """
-			    SELECT
-			        strftime('%Y-%m', a.date_of_day) AS date,
-			        CASE CAST(strftime('%m', a.date_of_day) AS INTEGER)
-			            WHEN 1 THEN 'January'
-			            WHEN 2 THEN 'February'
-			            WHEN 3 THEN 'March'
-			            WHEN 4 THEN 'April'
-			            WHEN 5 THEN 'May'
-			            WHEN 6 THEN 'June'
-			            WHEN 7 THEN 'July'
-			            WHEN 8 THEN 'August'
-			            WHEN 9 THEN 'September'
-			            WHEN 10 THEN 'October'
-			            WHEN 11 THEN 'November'
-			            WHEN 12 THEN 'December'
-			        END AS monthName,
-			        SUM(t.amount) AS amount
-			    FROM taxes t
-			    JOIN attendance a ON t.attendance_id = a.id
-			    WHERE t.amount > 0
-			    GROUP BY strftime('%Y-%m', a.date_of_day)
-			    ORDER BY date DESC
+			SELECT SUM(total_amount)
+			FROM tax_daily_summary
+			WHERE date_of_day >= :from
+			  AND date_of_day < :to
 			""", nativeQuery = true)
-	List<Map<String, Object>> getTotalTaxPerMonth();
+	Long getTotalTaxBetween(@Param("from") String from, @Param("to") String to);
 
-	@Query("SELECT SUM(t.amount) FROM Tax t WHERE t.amount > 0")
-	Long getAllAmount();
+	@Query(value = "SELECT COUNT(DISTINCT date_of_day) FROM tax_daily_summary", nativeQuery = true)
+	Long getTotalTransactionDays();
 
 	@Query("""
-			    SELECT SUM(t.amount)
+			    SELECT new com.scout_system.dto.TaxedAttendance(m.code, m.fullName, a.category, a.dateOfDay, t.amount)
 			    FROM Tax t
 			    JOIN t.attendance a
-			    WHERE t.amount > 0
-			    AND FUNCTION('strftime', '%Y-%m', a.dateOfDay) = FUNCTION('strftime', '%Y-%m', CURRENT_DATE)
+			    JOIN a.member m
+			    WHERE a.dateOfDay = :today
+			      AND (:category IS NULL OR a.category = :category)
+			      AND a.status = 'Present'
+			      AND t.amount > 0
+			    ORDER BY a.category, m.code
 			""")
-	Long getTotalTaxCurrentMonth();
+	List<TaxedAttendance> getTodaysAttendanceWithTax(@Param("today") LocalDate today,
+			@Param("category") String category);
 
-	@Query(value = """
-			    SELECT COUNT(*)
-			    FROM (
-			        SELECT strftime('%d-%m-%Y', a.date_of_day) AS date
-			        FROM taxes t
-			        JOIN attendance a ON t.attendance_id = a.id
-			        GROUP BY strftime('%d-%m-%Y', a.date_of_day)
-			    ) AS daily
-			""", nativeQuery = true)
-	Long getTotalTransactionDays();
+	// Tax history for the exports, both ends of the range included, optionally
+	// one category. Read inside a transaction
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"))
+	@Query("""
+			    SELECT new com.scout_system.dto.TaxExportRow(a.dateOfDay, m.code, m.fullName, a.category, t.amount)
+			    FROM Tax t
+			    JOIN t.attendance a
+			    JOIN a.member m
+			    WHERE a.dateOfDay BETWEEN :from AND :to
+			      AND (:category IS NULL OR a.category = :category)
+			    ORDER BY a.dateOfDay, a.category, m.code
+			""")
+	Stream<TaxExportRow> streamHistory(@Param("from") LocalDate from, @Param("to") LocalDate to,
+			@Param("category") String category);
 
+	@Modifying
 	@Query(value = """
-			    SELECT
-			        m.code AS memberCode,
-			        m.full_name AS memberName,
-			        a.date_of_day AS date,
-			        CASE strftime('%w', a.date_of_day)
-			            WHEN '0' THEN 'Sunday'
-			            WHEN '1' THEN 'Monday'
-			            WHEN '2' THEN 'Tuesday'
-			            WHEN '3' THEN 'Wednesday'
-			            WHEN '4' THEN 'Thursday'
-			            WHEN '5' THEN 'Friday'
-			            WHEN '6' THEN 'Saturday'
-			        END AS day,
-			        t.amount AS amount
-			    FROM attendance a
-			    JOIN members m ON a.member_code = m.code
-			    JOIN taxes t ON t.attendance_id = a.id
-			    WHERE a.date_of_day = :today
-			      AND a.category = 'Scouts and Guides'
-			      AND a.status = 'Present'
-			      AND t.amount > 0
-			    ORDER BY m.code
+			INSERT INTO taxes (attendance_id, amount)
+			SELECT :attendanceId, :amount
+			FROM members m
+			WHERE m.code = :memberCode
+			  AND LOWER(m.title) <> 'scout leader'
 			""", nativeQuery = true)
-	List<Map<String, Object>> getTodaysScoutsAndGuidesAttendanceWithTax(@Param("today") String today);
+	int insertTaxUnlessScoutLeader(@Param("attendanceId") Long attendanceId, @Param("memberCode") String memberCode,
+			@Param("amount") int amount);
 
-	@Query(value = """
-			    SELECT
-			        m.code AS memberCode,
-			        m.full_name AS memberName,
-			        a.date_of_day AS date,
-			        CASE strftime('%w', a.date_of_day)
-			            WHEN '0' THEN 'Sunday'
-			            WHEN '1' THEN 'Monday'
-			            WHEN '2' THEN 'Tuesday'
-			            WHEN '3' THEN 'Wednesday'
-			            WHEN '4' THEN 'Thursday'
-			            WHEN '5' THEN 'Friday'
-			            WHEN '6' THEN 'Saturday'
-			        END AS day,
-			        t.amount AS amount
-			    FROM attendance a
-			    JOIN members m ON a.member_code = m.code
-			    JOIN taxes t ON t.attendance_id = a.id
-			    WHERE a.date_of_day = :today
-			      AND a.category = 'Cubs and Blossoms'
-			      AND a.status = 'Present'
-			      AND t.amount > 0
-			    ORDER BY m.code
-			""", nativeQuery = true)
-	List<Map<String, Object>> getTodaysCubsAndBlossomsAttendanceWithTax(@Param("today") String today);
+	@Query("SELECT t.amount, a.dateOfDay FROM Tax t JOIN t.attendance a WHERE t.id = :id")
+	List<Object[]> findAmountAndDayById(@Param("id") Long id);
 
-	@Query(value = """
-			    SELECT
-			        m.code AS memberCode,
-			        m.full_name AS memberName,
-			        a.date_of_day AS date,
-			        CASE strftime('%w', a.date_of_day)
-			            WHEN '0' THEN 'Sunday'
-			            WHEN '1' THEN 'Monday'
-			            WHEN '2' THEN 'Tuesday'
-			            WHEN '3' THEN 'Wednesday'
-			            WHEN '4' THEN 'Thursday'
-			            WHEN '5' THEN 'Friday'
-			            WHEN '6' THEN 'Saturday'
-			        END AS day,
-			        t.amount AS amount
-			    FROM attendance a
-			    JOIN members m ON a.member_code = m.code
-			    JOIN taxes t ON t.attendance_id = a.id
-			    WHERE a.date_of_day = :today
-			      AND a.category = 'Buds'
-			      AND a.status = 'Present'
-			      AND t.amount > 0
-			    ORDER BY m.code
-			""", nativeQuery = true)
-	List<Map<String, Object>> getTodaysBudsAttendanceWithTax(@Param("today") String today);
+	@Query("SELECT COUNT(t) FROM Tax t JOIN t.attendance a WHERE a.dateOfDay = :dateOfDay AND t.amount = -1")
+	Long getCountLateByDate(@Param("dateOfDay") LocalDate dateOfDay);
 
 	@Modifying
 	@Transactional
@@ -168,26 +102,20 @@ public interface TaxRepository extends JpaRepository<Tax, Long> {
 	int updateTaxAmount(@Param("id") Long id, @Param("amount") int amount);
 
 	@Query("""
-			SELECT new map(
-			    m.code as code,
-			    m.fullName as fullName,
-			    a.category as category,
-			    a.dateOfDay as dateOfDay,
-			    a.checkInTime as checkInTime,
-			    t.amount as amount
-			)
+			SELECT new com.scout_system.dto.UpdatedTax(
+			    m.code, m.fullName, a.category, a.dateOfDay, a.checkInAt, t.amount)
 			FROM Tax t
 			JOIN t.attendance a
 			JOIN a.member m
 			WHERE t.amount <> -1
 			AND a.dateOfDay = :today
-			ORDER BY a.checkInTime DESC
+			ORDER BY a.checkInAt DESC
 			""")
-	List<Map<String, Object>> findMembersWithUpdatedTax(@Param("today") String today);
+	List<UpdatedTax> findMembersWithUpdatedTax(@Param("today") LocalDate today);
 	
 	
 	@Modifying
-	@Query("DELETE FROM Tax t WHERE t.attendance.dateOfDay < :cutoffDate")
-	int deleteOldRecords(@Param("cutoffDate") String cutoffDate);
+	@Query("DELETE FROM Tax t WHERE t.attendance.id IN (SELECT a.id FROM Attendance a WHERE a.dateOfDay < :cutoffDate)")
+	int deleteOldRecords(@Param("cutoffDate") LocalDate cutoffDate);
 
 }
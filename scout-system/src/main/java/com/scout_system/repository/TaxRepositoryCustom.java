@@ -0,0 +1,11 @@
+package com.scout_system.repository;
+
+import java.util.List;
+
+import com.scout_system.model.Tax;
+
+public interface TaxRepositoryCustom {
+
+	// JDBC batch insert; each tax must reference an attendance row with an id
+	void insertTaxes(List<Tax> taxes);
+}
@@ -0,0 +1,28 @@
+package com.scout_system.repository;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.scout_system.model.Tax;
+
+public class TaxRepositoryCustomImpl implements TaxRepositoryCustom {
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public TaxRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@Override
+	public void insertTaxes(List<Tax> taxes) {
+		if (taxes.isEmpty()) {
+			return;
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO taxes (attendance_id, amount) VALUES (?, ?)", taxes, taxes.size(),
+				(ps, tax) -> {
+					ps.setLong(1, tax.getAttendance().getId());
+					ps.setInt(2, tax.getAmount());
+				});
+	}
+}
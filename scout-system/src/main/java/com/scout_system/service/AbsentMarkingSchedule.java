@@ -0,0 +1,125 @@
+package com.scout_system.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.scout_system.model.Category;
+import com.scout_system.model.JobRunId;
+import com.scout_system.repository.AttendanceRepository;
+import com.scout_system.repository.JobRunRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Marks each category's missing members absent at the category's absent_at
+ * time (Cairo), read from the categories table instead of one hard-coded
+ * cron per category; each category is its own job in {@link JobRunner}. A
+ * category that was scanned into already has its Absent rows (materialized
+ * on the first scan), so the run only fills in categories nobody scanned
+ * into that day. Every run is logged in job_runs; at startup, meeting days
+ * in the catch-up window whose run is missing (the server was off at
+ * absent_at) are marked then.
+ */
+@Component
+@DependsOn("categoryRegistry")
+public class AbsentMarkingSchedule {
+
+	private static final Logger log = LoggerFactory.getLogger(AbsentMarkingSchedule.class);
+	private static final ZoneId CAIRO = ZoneId.of("Africa/Cairo");
+
+	private final AttendanceService attendanceService;
+	private final AttendanceRepository attendanceRepository;
+	private final JobRunRepository jobRunRepository;
+	private final JobRunner jobRunner;
+	private final MeterRegistry meterRegistry;
+	private final int catchUpDays;
+	private final AtomicInteger catchUpPending = new AtomicInteger();
+
+	public AbsentMarkingSchedule(AttendanceService attendanceService, AttendanceRepository attendanceRepository,
+			JobRunRepository jobRunRepository, JobRunner jobRunner, MeterRegistry meterRegistry,
+			@Value("${scout.jobs.catch-up-days:14}") int catchUpDays) {
+		this.attendanceService = attendanceService;
+		this.jobRunner = jobRunner;
+		this.attendanceRepository = attendanceRepository;
+		this.jobRunRepository = jobRunRepository;
+		this.meterRegistry = meterRegistry;
+		this.catchUpDays = catchUpDays;
+
+		Gauge.builder("scout.job.catchup.pending", catchUpPending, AtomicInteger::get)
+				.description("Missed absent-marking runs still to catch up").register(meterRegistry);
+
+		for (Category category : CategoryRegistry.all()) {
+			LocalTime at = category.getAbsentAt();
+			String cron = "0 " + at.getMinute() + " " + at.getHour() + " * * *";
+			jobRunner.schedule(jobName(category), cron, CAIRO,
+					() -> markAbsent(category, LocalDate.now(CAIRO), "cron"));
+		}
+	}
+
+	// Only days someone checked in count as meetings; today only once its
+	// absent_at has passed, otherwise the cron still has it
+	@EventListener(ApplicationReadyEvent.class)
+	public void catchUp() {
+		LocalDateTime now = LocalDateTime.now(CAIRO);
+		LocalDate today = now.toLocalDate();
+		LocalDate from = today.minusDays(catchUpDays);
+
+		Set<JobRunId> done = new HashSet<>(jobRunRepository.findRunsSince(from));
+		List<LocalDate> meetingDays = attendanceRepository.findMeetingDaysBetween(from, today);
+
+		List<Missed> missed = meetingDays.stream()
+				.flatMap(day -> CategoryRegistry.all().stream().map(category -> new Missed(category, day)))
+				.filter(run -> run.day().isBefore(today) || !now.toLocalTime().isBefore(run.category().getAbsentAt()))
+				.filter(run -> !done.contains(new JobRunId(jobName(run.category()), run.day())))
+				.toList();
+		if (missed.isEmpty()) {
+			log.info("Absent marking up to date ({} meeting days in the last {})", meetingDays.size(), catchUpDays);
+			return;
+		}
+
+		log.info("Catching up {} missed absent-marking runs", missed.size());
+		catchUpPending.set(missed.size());
+		int caughtUp = 0;
+		for (Missed run : missed) {
+			try {
+				if (jobRunner.run(jobName(run.category()), () -> markAbsent(run.category(), run.day(), "catch-up"))) {
+					caughtUp++;
+				}
+			} catch (RuntimeException e) {
+				log.warn("Catch-up failed for {} on {}", jobName(run.category()), run.day(), e);
+			}
+			catchUpPending.decrementAndGet();
+			log.info("Catch-up progress: {}/{}", caughtUp, missed.size());
+		}
+	}
+
+	private void markAbsent(Category category, LocalDate day, String trigger) {
+		int marked = attendanceService.markAbsent(category.getName(), day, trigger);
+		Counter.builder("scout.job.rows").description("Members marked absent").tag("job", "markAbsent")
+				.tag("category", category.getName()).tag("trigger", trigger).register(meterRegistry)
+				.increment(marked);
+	}
+
+	private static String jobName(Category category) {
+		return AttendanceService.ABSENT_JOB_PREFIX + category.getName();
+	}
+
+	private record Missed(Category category, LocalDate day) {
+	}
+}
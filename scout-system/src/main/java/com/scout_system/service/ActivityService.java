@@ -1,6 +1,6 @@
 package com.scout_system.service;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 import com.scout_system.model.Activity;
 
@@ -12,7 +12,8 @@ public interface ActivityService {
 
 	void deleteActivity(Long id);
 
-	List<Activity> getAllActivity();
+	// Handed over as the query reads them, detached once used
+	void forEachActivity(Consumer<Activity> action);
 
 	void markCompletedActiviy(Long id);
 
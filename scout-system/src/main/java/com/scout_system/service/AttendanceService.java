@@ -1,37 +1,48 @@
 package com.scout_system.service;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.springframework.data.repository.query.Param;
 
+import com.scout_system.dto.AttendanceExportRow;
+import com.scout_system.dto.CategoryAttendance;
+import com.scout_system.dto.CheckInResult;
+import com.scout_system.dto.CheckInScan;
+import com.scout_system.dto.LateMember;
+import com.scout_system.dto.TodayAttendance;
 import com.scout_system.model.Attendance;
 
 public interface AttendanceService {
 
+	String ABSENT_JOB_PREFIX = "markAbsent "; // + category name, the job column of job_runs
+
 	Attendance addAttendance(Attendance attendance);
 
+	CheckInResult checkIn(String memberCode, String category); // gate scan, late tax after the category cutoff
+
+	CheckInResult checkIn(String memberCode, String category, int amount); // tax only when amount > 0
+
+	List<CheckInResult> checkInBatch(List<CheckInScan> scans); // one result per scan, in order
+
 	boolean hasAlreadyAttendedToday(String memberCode, String category);
 
-	List<Map<String, Object>> getAllAttendancesPerToday();
+	List<TodayAttendance> getAllAttendancesPerToday();
 
 	Long getCountPresentToday();
 
 	Long getCountAbsentToday();
 
-	List<Map<String, Object>> findLateMembersByDate();
+	List<LateMember> findLateMembersByDate();
 
 	String getLastCheckInTimeByDate(@Param("today") String today);
 
-	void markAbsentBuds();
-
-	void markAbsentCubsAndBlossoms();
-
-	void markAbsentScoutsAndGuides();
-
-	List<Map<String, Object>> getScoutsAndGuidesAttendanceByDate();
+	int markAbsent(String category, LocalDate day, String trigger); // rows marked absent, logged in job_runs
 
-	public List<Map<String, Object>> getCubsAndBlossomsAttendanceByDate();
+	Map<String, List<CategoryAttendance>> getTodayByCategory(String category);
 
-	public List<Map<String, Object>> getBudsAttendanceByDate();
+	// Days from..to inclusive, category null for all, handed over as the query reads them
+	void forEachAttendanceBetween(LocalDate from, LocalDate to, String category, Consumer<AttendanceExportRow> action);
 }
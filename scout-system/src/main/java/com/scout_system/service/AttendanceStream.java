@@ -0,0 +1,113 @@
+package com.scout_system.service;
+
+import java.io.IOException;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Server-Sent Events for the attendance pages (GET /attendance/stream): a
+ * snapshot of today's counters on connect, then one small event per committed
+ * check-in, absent marking or tax update, so open pages refresh on change
+ * instead of polling. Sends run on their own thread, never on the SQLite
+ * writer, and a comment every 20 seconds drops clients that went away.
+ */
+@Component
+public class AttendanceStream {
+
+	private static final long TIMEOUT_MS = TimeUnit.MINUTES.toMillis(30); // EventSource reconnects
+
+	private final LiveCounters liveCounters;
+	private final List<SseEmitter> clients = new CopyOnWriteArrayList<>();
+	private final ExecutorService sender = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "attendance-stream");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	public AttendanceStream(LiveCounters liveCounters, JobRunner jobRunner, MeterRegistry meterRegistry) {
+		this.liveCounters = liveCounters;
+		jobRunner.schedule("attendanceStreamHeartbeat", "*/20 * * * * *", ZoneId.systemDefault(), this::heartbeat);
+		Gauge.builder("scout.stream.clients", clients, List::size).description("Open attendance streams")
+				.register(meterRegistry);
+	}
+
+	public SseEmitter subscribe() {
+		SseEmitter emitter = new SseEmitter(TIMEOUT_MS);
+		emitter.onCompletion(() -> clients.remove(emitter));
+		emitter.onTimeout(() -> clients.remove(emitter));
+		emitter.onError(error -> clients.remove(emitter));
+		clients.add(emitter);
+		sender.execute(() -> send(emitter, SseEmitter.event().name("snapshot").data(stats())));
+		return emitter;
+	}
+
+	// Sent once the surrounding transaction commits, with the counters as
+	// they are after it
+	public void publishAfterCommit(String type, Map<String, Object> data) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			publish(type, data);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				publish(type, data);
+			}
+		});
+	}
+
+	private void publish(String type, Map<String, Object> data) {
+		if (clients.isEmpty()) {
+			return;
+		}
+		sender.execute(() -> {
+			Map<String, Object> event = new LinkedHashMap<>(data);
+			event.put("stats", stats());
+			for (SseEmitter client : clients) {
+				send(client, SseEmitter.event().name(type).data(event));
+			}
+		});
+	}
+
+	private void heartbeat() {
+		sender.execute(() -> {
+			for (SseEmitter client : clients) {
+				send(client, SseEmitter.event().comment("ping"));
+			}
+		});
+	}
+
+	private void send(SseEmitter client, SseEmitter.SseEventBuilder event) {
+		try {
+			client.send(event);
+		} catch (IOException | IllegalStateException e) {
+			clients.remove(client); // the page was closed
+		}
+	}
+
+	private Map<String, Object> stats() {
+		return Map.of("present", liveCounters.presentToday(), "absent", liveCounters.absentToday(), "late",
+				liveCounters.lateToday());
+	}
+
+	@PreDestroy
+	public void stop() {
+		clients.forEach(SseEmitter::complete);
+		sender.shutdown();
+	}
+}
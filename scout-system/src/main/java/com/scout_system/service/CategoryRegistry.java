@@ -0,0 +1,106 @@
+package com.scout_system.service;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import com.scout_system.model.Category;
+import com.scout_system.repository.CategoryRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * The categories table holds a handful of rows that only migrations change,
+ * so it is read once at startup and served from memory. Lookups are static
+ * because {@link com.scout_system.util.CategoryConverter} is created by
+ * Hibernate, not Spring.
+ */
+@Component
+@DependsOn("schemaMigrations")
+public class CategoryRegistry {
+
+	private static volatile Map<String, Category> byName = Map.of();
+	private static volatile Map<Integer, Category> byId = Map.of();
+	private static volatile List<Category> all = List.of();
+
+	private final CategoryRepository categoryRepository;
+
+	public CategoryRegistry(CategoryRepository categoryRepository) {
+		this.categoryRepository = categoryRepository;
+	}
+
+	@PostConstruct
+	public void load() {
+		List<Category> categories = categoryRepository.findAll();
+		categories.sort(Comparator.comparing(Category::getId));
+
+		Map<String, Category> names = new HashMap<>();
+		Map<Integer, Category> ids = new HashMap<>();
+		for (Category category : categories) {
+			names.put(key(category.getName()), category);
+			ids.put(category.getId(), category);
+		}
+
+		byName = names;
+		byId = ids;
+		all = List.copyOf(categories);
+		System.out.println("Categories loaded: " + all.size());
+	}
+
+	// Names match case-insensitively, as the old LIKE lookup on members did
+	public static Category find(String name) {
+		return name == null ? null : byName.get(key(name));
+	}
+
+	public static Category find(Integer id) {
+		return id == null ? null : byId.get(id);
+	}
+
+	public static List<Category> all() {
+		return all;
+	}
+
+	// An optional category filter: null means every category, an unknown name is rejected
+	public static Category filter(String name) {
+		if (name == null || name.isBlank()) {
+			return null;
+		}
+		Category category = find(name);
+		if (category == null) {
+			throw new IllegalArgumentException("Unknown category: " + name);
+		}
+		return category;
+	}
+
+	// Categories whose register has closed by this Cairo time: their absent_at
+	// has passed, so their pre-materialized Absent rows for today count
+	public static List<String> closedAt(LocalTime time) {
+		return all.stream().filter(category -> !time.isBefore(category.getAbsentAt())).map(Category::getName)
+				.toList();
+	}
+
+	// Rows keyed by category name in id order, with an empty list for a category without rows
+	public static <T> Map<String, List<T>> group(Category only, List<T> rows, Function<T, String> categoryOf) {
+		Map<String, List<T>> grouped = new LinkedHashMap<>();
+		for (Category category : only != null ? List.of(only) : all) {
+			grouped.put(category.getName(), new ArrayList<>());
+		}
+		for (T row : rows) {
+			grouped.computeIfAbsent(categoryOf.apply(row), name -> new ArrayList<>()).add(row);
+		}
+		return grouped;
+	}
+
+	private static String key(String name) {
+		return name.trim().toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,8 @@
+package com.scout_system.service;
+
+import java.util.Map;
+
+public interface DashboardService {
+
+	Map<String, Object> getSummary();
+}
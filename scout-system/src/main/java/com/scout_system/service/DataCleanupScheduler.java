@@ -2,7 +2,6 @@ package com.scout_system.service;
 
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionStatus;
@@ -11,22 +10,33 @@ import org.springframework.transaction.support.TransactionTemplate;
 import com.scout_system.repository.AttendanceRepository;
 import com.scout_system.repository.TaxRepository;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.time.ZoneId;
 
 @Service
 public class DataCleanupScheduler {
 
+    private static final String JOB = "dataCleanup";
+
     private final AttendanceRepository attendanceRepository;
     private final TaxRepository taxRepository;
     private final TransactionTemplate transactionTemplate;
+    private final JobRunner jobRunner;
+    private final LiveCounters liveCounters;
     private LocalDate lastCleanupCheck = null;
 
     public DataCleanupScheduler(AttendanceRepository attendanceRepository,
                                 TaxRepository taxRepository,
-                                PlatformTransactionManager transactionManager) {
+                                PlatformTransactionManager transactionManager,
+                                JobRunner jobRunner,
+                                LiveCounters liveCounters) {
         this.attendanceRepository = attendanceRepository;
         this.taxRepository = taxRepository;
         this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobRunner = jobRunner;
+        this.liveCounters = liveCounters;
+
+        // Also run cleanup every Friday at 11 AM (when server is typically running)
+        jobRunner.schedule(JOB, "0 0 11 * * FRI", ZoneId.systemDefault(), this::scheduledCleanup);
     }
 
     // Run cleanup check on application startup (after database is ready)
@@ -34,11 +44,9 @@ public class DataCleanupScheduler {
     public void onStartup() {
         System.out.println("=".repeat(60));
         System.out.println("Checking for old data cleanup...");
-        checkAndCleanupIfNeeded();
+        jobRunner.run(JOB, this::checkAndCleanupIfNeeded);
     }
 
-    // Also run cleanup every Friday at 11 AM (when server is typically running)
-    @Scheduled(cron = "0 0 11 * * FRI")
     public void scheduledCleanup() {
         System.out.println("=".repeat(60));
         System.out.println("Weekly cleanup check triggered...");
@@ -59,7 +67,7 @@ public class DataCleanupScheduler {
                 return;
             }
 
-            String cutoffDate = sixMonthsAgo.format(DateTimeFormatter.ISO_LOCAL_DATE);
+            LocalDate cutoffDate = sixMonthsAgo;
 
             System.out.println("Current Date: " + today);
             System.out.println("Deleting records older than: " + cutoffDate);
@@ -93,6 +101,7 @@ public class DataCleanupScheduler {
             });
 
             lastCleanupCheck = today;
+            liveCounters.reconcile(); // the revenue total shrinks with the deleted taxes
             System.out.println("=".repeat(60));
 
         } catch (Exception e) {
@@ -105,7 +114,9 @@ public class DataCleanupScheduler {
 
     // Manual cleanup method (can be called from controller)
     public void forceCleanup() {
-        lastCleanupCheck = null; // Reset to force cleanup
-        checkAndCleanupIfNeeded();
+        jobRunner.run(JOB, () -> {
+            lastCleanupCheck = null; // Reset to force cleanup
+            checkAndCleanupIfNeeded();
+        });
     }
 }
\ No newline at end of file
@@ -1,18 +1,24 @@
 package com.scout_system.service.Impl;
 
-import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.scout_system.model.Activity;
 import com.scout_system.repository.ActivityRepository;
 import com.scout_system.service.ActivityService;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 @Service
 public class ActivityServiceImpl implements ActivityService {
 	
 	@Autowired
 	private ActivityRepository activityRepository;
+
+	@PersistenceContext
+	private EntityManager entityManager;
 	
 	@Override
 	@Transactional
@@ -21,7 +27,7 @@ public class ActivityServiceImpl implements ActivityService {
 	}
 	
 	@Override
-	@Transactional
+	@Transactional(readOnly = true)
 	public boolean checkActivity(Long id) {
 		return activityRepository.existsById(id);
 	}
@@ -36,9 +42,14 @@ public class ActivityServiceImpl implements ActivityService {
 	}
 	
 	@Override
-	@Transactional
-	public List<Activity> getAllActivity() {
-		return activityRepository.findAll();
+	@Transactional(readOnly = true)
+	public void forEachActivity(Consumer<Activity> action) {
+		try (Stream<Activity> activities = activityRepository.streamAllBy()) {
+			activities.forEach(activity -> {
+				action.accept(activity);
+				entityManager.detach(activity); // the session would otherwise keep every row
+			});
+		}
 	}
 	
 	@Override
@@ -48,19 +59,19 @@ public class ActivityServiceImpl implements ActivityService {
 	}
 	
 	@Override
-	@Transactional
+	@Transactional(readOnly = true)
 	public Long getCountForAllActivitry() {
 		return activityRepository.getCountForAllActivitry();
 	}
 	
 	@Override
-	@Transactional
+	@Transactional(readOnly = true)
 	public Long getCountCompletedActivity() {
 		return activityRepository.getCountCompletedActivity();
 	}
 	
 	@Override
-	@Transactional
+	@Transactional(readOnly = true)
 	public Long getCountUpcomingActivity() {
 		return activityRepository.getCountUpcomingActivity();
 	}
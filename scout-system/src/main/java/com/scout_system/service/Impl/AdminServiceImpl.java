@@ -5,13 +5,12 @@ import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.scout_system.model.Admin;
 import com.scout_system.repository.AdminRepository;
 import com.scout_system.service.AdminService;
 
-import jakarta.transaction.Transactional;
-
 @Service
 public class AdminServiceImpl implements AdminService {
 
@@ -22,13 +21,13 @@ public class AdminServiceImpl implements AdminService {
 	private PasswordEncoder passwordEncoder;
 
 	@Override
-	@Transactional
+	@Transactional(readOnly = true)
 	public Admin getAdminByUserName(String userName) {
 		return adminRepository.findByUserName(userName);
 	}
 
 	@Override
-	@Transactional
+	@Transactional(readOnly = true)
 	public boolean checkPassword(String userName, String rawPassword) { // true correct , false incorrect
 		Admin admin = adminRepository.findByUserName(userName);
 		if (admin == null)
@@ -44,13 +43,13 @@ public class AdminServiceImpl implements AdminService {
 	}
 
 	@Override
-	@Transactional
+	@Transactional(readOnly = true)
 	public boolean existsByUserName(String userName) {
 		return adminRepository.existsByUserName(userName);
 	}
 
 	@Override
-	@Transactional
+	@Transactional(readOnly = true)
 	public List<Admin> getAllAdmins() {
 		return adminRepository.findAll();
 	}
@@ -1,37 +1,84 @@
 package com.scout_system.service.Impl;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.scout_system.dto.AttendanceExportRow;
+import com.scout_system.dto.CategoryAttendance;
+import com.scout_system.dto.CheckInResult;
+import com.scout_system.dto.CheckInResult.Outcome;
+import com.scout_system.dto.CheckInScan;
+import com.scout_system.dto.LateMember;
+import com.scout_system.dto.TodayAttendance;
 import com.scout_system.model.Attendance;
+import com.scout_system.model.Category;
+import com.scout_system.model.JobRun;
+import com.scout_system.model.JobRunId;
 import com.scout_system.model.Member;
+import com.scout_system.model.Tax;
 import com.scout_system.repository.AttendanceRepository;
+import com.scout_system.repository.JobRunRepository;
 import com.scout_system.repository.MemberRepository;
+import com.scout_system.repository.TaxRepository;
 import com.scout_system.service.AttendanceService;
-
-import jakarta.transaction.Transactional;
+import com.scout_system.service.AttendanceStream;
+import com.scout_system.service.CategoryRegistry;
+import com.scout_system.service.LiveCounters;
+import com.scout_system.service.TodayRoster;
+import com.scout_system.util.CheckInTimes;
+import com.scout_system.util.WritePipeline;
 
 @Service
 public class AttendanceServiceImpl implements AttendanceService {
 
-	private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+	private static final Logger log = LoggerFactory.getLogger(AttendanceServiceImpl.class);
+	private static final ZoneId CAIRO = CheckInTimes.CAIRO;
 
 	@Autowired
 	private AttendanceRepository attendanceRepository;
 
 	@Autowired
 	private MemberRepository memberRepository;
-	
-	
+
+	@Autowired
+	private TaxRepository taxRepository;
+
+	@Autowired
+	private TodayRoster todayRoster;
+
+	@Autowired
+	private WritePipeline writePipeline;
+
+	@Autowired
+	private JobRunRepository jobRunRepository;
+
+	@Autowired
+	private LiveCounters liveCounters;
+
+	@Autowired
+	private AttendanceStream attendanceStream;
+
+	@Value("${scout.check-in.batch-max-age-minutes:360}")
+	private int batchMaxAgeMinutes;
 
 	@Override
 	@Transactional
@@ -41,143 +88,283 @@ public class AttendanceServiceImpl implements AttendanceService {
 
 	@Override
 	@Transactional
-	public boolean hasAlreadyAttendedToday(String memberCode, String category) {
-		String today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-		return attendanceRepository.hasAlreadyAttendedToday(memberCode, today, category);
+	public CheckInResult checkIn(String memberCode, String category) {
+		Category known = CategoryRegistry.find(category);
+		if (known == null) {
+			return CheckInResult.rejected(Outcome.INVALID_CATEGORY, memberCode, category);
+		}
+
+		LocalDateTime now = LocalDateTime.now(CAIRO);
+		int amount = now.toLocalTime().isAfter(known.getLateAfter()) ? -1 : 0; // -1 marks a late tax still to be collected
+		return recordCheckIn(memberCode, known, now, amount);
 	}
 
 	@Override
 	@Transactional
-	public List<Map<String, Object>> getAllAttendancesPerToday() {
-		String today = LocalDate.now().toString();
-		List<Object[]> rows = attendanceRepository.findAllWithNamesByDateOfDay(today);
-
-		List<Map<String, Object>> result = new ArrayList<>();
-
-		for (Object[] row : rows) {
-			Map<String, Object> map = new HashMap<>();
-			map.put("id", row[0]);
-			map.put("memberCode", row[1]);
-			map.put("fullName", row[2]);
-			map.put("category", row[3]);
-			map.put("status", row[4]);
-			map.put("checkInTime", row[5]);
-			map.put("dateOfDay", row[6]);
-			result.add(map);
+	public CheckInResult checkIn(String memberCode, String category, int amount) {
+		Category known = CategoryRegistry.find(category);
+		if (known == null) {
+			return CheckInResult.rejected(Outcome.INVALID_CATEGORY, memberCode, category);
+		}
+		return recordCheckIn(memberCode, known, LocalDateTime.now(CAIRO), Math.max(amount, 0));
+	}
+
+	// A scan flips the member's pre-materialized Absent row with one update
+	// through the unique key; members off the category's roster (scout leaders,
+	// other categories) fall back to the insert, which itself enforces "member
+	// exists" and "not yet attended". Lookups only explain a rejection
+	private CheckInResult recordCheckIn(String memberCode, Category known, LocalDateTime now, int amount) {
+		String category = known.getName();
+		LocalDate dateOfDay = now.toLocalDate();
+		long checkInAt = CheckInTimes.toEpochMillis(now);
+
+		if (todayRoster.contains(memberCode, category)) {
+			return CheckInResult.rejected(Outcome.ALREADY_ATTENDED, memberCode, category);
 		}
-		return result;
 
+		materializeRoster(known, dateOfDay);
+		Long id = attendanceRepository.markPresent(memberCode, known.getId(), dateOfDay.toString(), checkInAt);
+		boolean flippedAbsent = id != null;
+		if (id == null) {
+			if (attendanceRepository.insertCheckIn(memberCode, known.getId(), dateOfDay.toString(), checkInAt) == 0) {
+				boolean memberExists = memberCode != null && memberRepository.existsById(memberCode);
+				return CheckInResult.rejected(memberExists ? Outcome.ALREADY_ATTENDED : Outcome.MEMBER_NOT_FOUND,
+						memberCode, category);
+			}
+			id = attendanceRepository.lastInsertId();
+		}
+
+		boolean taxed = amount != 0 && taxRepository.insertTaxUnlessScoutLeader(id, memberCode, amount) > 0;
+		todayRoster.admitAfterCommit(memberCode, category, dateOfDay);
+		// Scout leaders never have an Absent row, so only the insert path asks
+		boolean scoutLeader = !flippedAbsent
+				&& "Scout Leader".equalsIgnoreCase(memberRepository.findTitleByCode(memberCode));
+		liveCounters.checkedInAfterCommit(memberCode, category, dateOfDay, scoutLeader, flippedAbsent,
+				taxed ? amount : 0);
+		attendanceStream.publishAfterCommit("checkIn", Map.of("memberCode", memberCode, "category", category,
+				"checkInTime", CheckInTimes.format(checkInAt), "amount", taxed ? amount : 0));
+
+		return CheckInResult.checkedIn(id, memberCode, category, CheckInTimes.format(checkInAt),
+				dateOfDay.toString(), taxed ? amount : 0);
 	}
 
-	@Override
-	@Transactional
-	public Long getCountAbsentToday() {
-		String today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-		return attendanceRepository.getCountAbsentToday(today);
+	// First scan of a category on a day: one Absent row per expected member,
+	// so every later scan is an update and the day's counts a fixed set
+	private void materializeRoster(Category category, LocalDate dateOfDay) {
+		if (todayRoster.isMaterialized(category.getName(), dateOfDay)) {
+			return;
+		}
+		int inserted = attendanceRepository.insertAbsentees(category.getId(), dateOfDay.toString());
+		if (inserted > 0 && dateOfDay.equals(LocalDate.now(CAIRO))) {
+			todayRoster.reloadAfterCommit();
+			liveCounters.reconcileAfterCommit();
+		} else {
+			todayRoster.materializedAfterCommit(category.getName(), dateOfDay);
+		}
 	}
 
+	// Members are validated with one IN query, then the attendance rows and late
+	// taxes are written with JDBC batches; the unique key settles duplicates
 	@Override
 	@Transactional
-	public Long getCountPresentToday() {
-		String today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-		return attendanceRepository.getCountPresentToday(today);
+	public List<CheckInResult> checkInBatch(List<CheckInScan> scans) {
+		Set<String> codes = scans.stream().map(CheckInScan::code).filter(Objects::nonNull).collect(Collectors.toSet());
+		Map<String, Member> members = memberRepository.findAllById(codes).stream()
+				.collect(Collectors.toMap(Member::getCode, member -> member));
+
+		LocalDateTime now = LocalDateTime.now(CAIRO);
+		LocalDate today = now.toLocalDate();
+		LocalDateTime oldest = now.minusMinutes(batchMaxAgeMinutes);
+		CheckInResult[] results = new CheckInResult[scans.size()];
+		List<Attendance> pending = new ArrayList<>();
+		List<Integer> pendingIndexes = new ArrayList<>();
+		Set<String> seen = new HashSet<>();
+
+		for (int i = 0; i < scans.size(); i++) {
+			CheckInScan scan = scans.get(i);
+			Category category = CategoryRegistry.find(scan.category());
+			Member member = members.get(scan.code());
+
+			if (category == null) {
+				results[i] = CheckInResult.rejected(Outcome.INVALID_CATEGORY, scan.code(), scan.category());
+				continue;
+			}
+			if (member == null) {
+				results[i] = CheckInResult.rejected(Outcome.MEMBER_NOT_FOUND, scan.code(), scan.category());
+				continue;
+			}
+
+			// A buffered scan keeps the time it was read at, never a future one,
+			// and only counts for today's meeting: an older one is refused
+			LocalDateTime scannedAt = scan.timestamp() == null ? now
+					: LocalDateTime.ofInstant(scan.timestamp(), CAIRO);
+			if (scannedAt.isAfter(now)) {
+				scannedAt = now;
+			}
+			if (!scannedAt.toLocalDate().equals(today) || scannedAt.isBefore(oldest)) {
+				results[i] = CheckInResult.rejected(Outcome.STALE_SCAN, scan.code(), scan.category());
+				continue;
+			}
+
+			boolean duplicate = !seen.add(scan.code() + '\n' + category.getId())
+					|| todayRoster.contains(scan.code(), category.getName());
+			if (duplicate) {
+				results[i] = CheckInResult.rejected(Outcome.ALREADY_ATTENDED, scan.code(), scan.category());
+				continue;
+			}
+
+			Attendance attendance = new Attendance();
+			attendance.setMember(member);
+			attendance.setCategory(category.getName());
+			attendance.setCheckInAt(CheckInTimes.toEpochMillis(scannedAt));
+			attendance.setDateOfDay(today);
+			attendance.setStatus("Present");
+
+			if (scannedAt.toLocalTime().isAfter(category.getLateAfter())
+					&& !"Scout Leader".equalsIgnoreCase(member.getTitle())) {
+				attendance.setTaxes(List.of(new Tax(attendance, -1)));
+			}
+
+			pending.add(attendance);
+			pendingIndexes.add(i);
+		}
+
+		pending.stream().map(Attendance::getCategory).distinct()
+				.forEach(category -> materializeRoster(CategoryRegistry.find(category), today));
+		boolean[] inserted = attendanceRepository.insertCheckIns(pending);
+		List<Tax> taxes = new ArrayList<>();
+
+		for (int j = 0; j < pending.size(); j++) {
+			Attendance attendance = pending.get(j);
+			String code = attendance.getMember().getCode();
+			int i = pendingIndexes.get(j);
+
+			if (!inserted[j]) {
+				results[i] = CheckInResult.rejected(Outcome.ALREADY_ATTENDED, code, attendance.getCategory());
+				continue;
+			}
+
+			int amount = 0;
+			if (attendance.getTaxes() != null) {
+				taxes.addAll(attendance.getTaxes());
+				amount = attendance.getTaxes().stream().mapToInt(Tax::getAmount).sum();
+			}
+
+			todayRoster.admitAfterCommit(code, attendance.getCategory(), attendance.getDateOfDay());
+			results[i] = CheckInResult.checkedIn(attendance.getId(), code, attendance.getCategory(),
+					attendance.getCheckInTime(), attendance.getDateOfDay().toString(), amount);
+		}
+
+		taxRepository.insertTaxes(taxes);
+		if (!pending.isEmpty()) {
+			liveCounters.reconcileAfterCommit();
+			attendanceStream.publishAfterCommit("checkInBatch", Map.of("scans", scans.size()));
+		}
+		return Arrays.asList(results);
 	}
 
 	@Override
-	@Transactional
-	public List<Map<String, Object>> findLateMembersByDate() {
-		String today = LocalDate.now(ZoneId.of("Africa/Cairo")).format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-		return attendanceRepository.findLateMembersByDate(today);
+	public boolean hasAlreadyAttendedToday(String memberCode, String category) {
+		return todayRoster.contains(memberCode, category);
 	}
 
 	@Override
-	@Transactional
-	public String getLastCheckInTimeByDate(String today) {
-		String lastTime = attendanceRepository.getLastCheckInTimeByDate(today);
-		return lastTime != null ? lastTime : "No attendance found for today";
+	@Transactional(readOnly = true)
+	public List<TodayAttendance> getAllAttendancesPerToday() {
+		LocalDateTime now = LocalDateTime.now(CAIRO);
+		return attendanceRepository.findAllWithNamesByDateOfDay(now.toLocalDate(),
+				CategoryRegistry.closedAt(now.toLocalTime()));
 	}
 
-	// Buds → after 11:50 AM (starts 11:51)
 	@Override
-	@Scheduled(cron = "0 51 11 * * *", zone = "Africa/Cairo")
-	@Transactional
-	public void markAbsentBuds() {
-		markAbsentByCategory("Buds");
+	public Long getCountAbsentToday() {
+		return liveCounters.absentToday();
 	}
 
-	// Cubs and Blossoms → after 12:30 PM (starts 12:31)
 	@Override
-	@Scheduled(cron = "0 31 12 * * *", zone = "Africa/Cairo")
-	@Transactional
-	public void markAbsentCubsAndBlossoms() {
-		markAbsentByCategory("Cubs and Blossoms");
+	public Long getCountPresentToday() {
+		return liveCounters.presentToday();
 	}
 
-	// Scouts and Guides → after 12:30 PM (starts 12:33)
 	@Override
-	@Scheduled(cron = "0 32 12 * * *", zone = "Africa/Cairo")
-	@Transactional
-	public void markAbsentScoutsAndGuides() {
-		markAbsentByCategory("Scouts and Guides");
+	@Transactional(readOnly = true)
+	public List<LateMember> findLateMembersByDate() {
+		return attendanceRepository.findLateMembersByDate(LocalDate.now(CAIRO));
 	}
 
-	private void markAbsentByCategory(String category) {
-		String today = LocalDate.now(ZoneId.of("Africa/Cairo")).format(DATE_FORMAT);
-		List<Member> members = memberRepository.findByCategory(category);
+	@Override
+	@Transactional(readOnly = true)
+	public String getLastCheckInTimeByDate(String today) {
+		Long lastCheckIn = attendanceRepository.getLastCheckInAtByDate(LocalDate.parse(today));
+		return lastCheckIn != null ? CheckInTimes.format(lastCheckIn) : "No attendance found for today";
+	}
 
-		for (Member member : members) {
+	// Scheduled per category at its absent_at time by AbsentMarkingSchedule
+	@Override
+	public int markAbsent(String category, LocalDate day, String trigger) {
+		String job = ABSENT_JOB_PREFIX + category;
+		int marked = writePipeline.submit(job, () -> {
+			long start = System.nanoTime();
+			int rows = markAbsentByCategory(category, day);
+			recordJobRun(job, day, trigger, rows, System.nanoTime() - start);
+			return rows;
+		}).join();
+		log.info("Marked {} members absent for {} on {} ({})", marked, category, day, trigger);
+		return marked;
+	}
 
-			if ("Scout Leader".equalsIgnoreCase(member.getTitle())) {
-				continue;
-			}
+	// Runs inside the write pipeline's transaction
+	private int markAbsentByCategory(String category, LocalDate day) {
+		Category known = CategoryRegistry.find(category);
+		if (known == null) {
+			return 0;
+		}
 
-			boolean hasAttended = attendanceRepository.existsByMemberCodeAndDateOfDayAndCategory(member.getCode(),
-					today, category);
-
-			if (!hasAttended) {
-				Attendance attendance = new Attendance();
-				attendance.setMember(member);
-				attendance.setCategory(category);
-				attendance.setDateOfDay(today);
-				attendance.setCheckInTime("—");
-				attendance.setStatus("Absent");
-				attendanceRepository.save(attendance);
+		int marked = attendanceRepository.insertAbsentees(known.getId(), day.toString());
+		// Today's register has closed: the category's Absent rows, inserted now
+		// or on its first scan, count from here on
+		if (day.equals(LocalDate.now(CAIRO))) {
+			if (marked > 0) {
+				todayRoster.reloadAfterCommit();
 			}
+			liveCounters.reconcileAfterCommit();
+			attendanceStream.publishAfterCommit("absentMarked", Map.of("category", category, "marked", marked));
 		}
+		return marked;
 	}
 
-	@Override
-	public List<Map<String, Object>> getScoutsAndGuidesAttendanceByDate() {
-		String today = LocalDate.now(ZoneId.of("Africa/Cairo")).format(DATE_FORMAT);
-	    return convertToMap(attendanceRepository.findAttendanceByCategory("Scouts and Guides", today));
+	// Same transaction as the marks, so a day is never logged as done
+	// without its rows; a re-run overwrites the entry
+	private void recordJobRun(String job, LocalDate day, String trigger, int rows, long nanos) {
+		JobRunId id = new JobRunId(job, day);
+		JobRun run = jobRunRepository.findById(id).orElseGet(() -> new JobRun(id));
+		run.setTriggeredBy(trigger);
+		run.setRowsAffected(rows);
+		run.setDurationMs(TimeUnit.NANOSECONDS.toMillis(nanos));
+		run.setFinishedAt(System.currentTimeMillis());
+		jobRunRepository.save(run);
 	}
 
 	@Override
-	public List<Map<String, Object>> getCubsAndBlossomsAttendanceByDate() {
-		String today = LocalDate.now(ZoneId.of("Africa/Cairo")).format(DATE_FORMAT);
-	    return convertToMap(attendanceRepository.findAttendanceByCategory("Cubs and Blossoms", today));
+	@Transactional(readOnly = true)
+	public Map<String, List<CategoryAttendance>> getTodayByCategory(String category) {
+		Category only = CategoryRegistry.filter(category);
+		LocalDateTime now = LocalDateTime.now(CAIRO);
+		List<CategoryAttendance> rows = attendanceRepository.findTodayByCategory(now.toLocalDate(),
+				only != null ? only.getName() : null, CategoryRegistry.closedAt(now.toLocalTime()));
+		return CategoryRegistry.group(only, rows, CategoryAttendance::category);
 	}
 
 	@Override
-	public List<Map<String, Object>> getBudsAttendanceByDate() {
-		String today = LocalDate.now(ZoneId.of("Africa/Cairo")).format(DATE_FORMAT);
-	    return convertToMap(attendanceRepository.findAttendanceByCategory("Buds", today));
-	}
-
-	private List<Map<String, Object>> convertToMap(List<Object[]> rawData) {
-	    List<Map<String, Object>> result = new ArrayList<>();
-	    
-	    for (Object[] row : rawData) {
-	        Map<String, Object> map = new HashMap<>();
-	        map.put("date", row[0]);
-	        map.put("code", row[1]);
-	        map.put("name", row[2]);
-	        map.put("category", row[3]);
-	        map.put("status", row[4]);
-	        result.add(map);
-	    }
-	    
-	    return result;
+	@Transactional(readOnly = true)
+	public void forEachAttendanceBetween(LocalDate from, LocalDate to, String category,
+			Consumer<AttendanceExportRow> action) {
+		Category only = CategoryRegistry.filter(category);
+		LocalDateTime now = LocalDateTime.now(CAIRO);
+		try (Stream<AttendanceExportRow> rows = attendanceRepository.streamHistory(from, to,
+				only != null ? only.getName() : null, now.toLocalDate(), CategoryRegistry.closedAt(now.toLocalTime()))) {
+			rows.forEach(action);
+		}
 	}
 
 }
@@ -0,0 +1,37 @@
+package com.scout_system.service.Impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.scout_system.dto.DashboardSummary;
+import com.scout_system.repository.DashboardRepository;
+import com.scout_system.service.DashboardService;
+import com.scout_system.service.LiveCounters;
+
+@Service
+public class DashboardServiceImpl implements DashboardService {
+
+	@Autowired
+	private DashboardRepository dashboardRepository;
+
+	@Autowired
+	private LiveCounters liveCounters;
+
+	@Override
+	public Map<String, Object> getSummary() {
+		DashboardSummary summary = dashboardRepository.getDashboardSummary();
+
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("totalScouts", summary.totalMembers());
+		result.put("presentToday", liveCounters.presentToday());
+		result.put("absentToday", liveCounters.absentToday());
+		result.put("lateToday", liveCounters.lateToday());
+		result.put("upcomingEvents", summary.upcomingActivities());
+		result.put("totalActivities", summary.totalActivities());
+		result.put("completedActivities", summary.completedActivities());
+		return result;
+	}
+}
@@ -1,38 +1,171 @@
 package com.scout_system.service.Impl;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.scout_system.dto.MemberDetails;
+import com.scout_system.dto.MemberPage;
+import com.scout_system.dto.MemberSummary;
+import com.scout_system.model.Category;
 import com.scout_system.model.Member;
 import com.scout_system.repository.MemberRepository;
+import com.scout_system.service.CategoryRegistry;
 import com.scout_system.service.MemberService;
-
-import jakarta.transaction.Transactional;
+import com.scout_system.service.LiveCounters;
+import com.scout_system.service.TodayRoster;
+import com.scout_system.util.ArabicText;
 
 @Service
 public class MemberServiceImpl implements MemberService {
 
+	private static final int MAX_PAGE_SIZE = 200;
+	private static final int MAX_SEARCH_RESULTS = 50;
+
 	@Autowired
 	private MemberRepository memberRepository;
 
+	@Autowired
+	private TodayRoster todayRoster;
+
+	@Autowired
+	private LiveCounters liveCounters;
+
 	@Override
 	@Transactional
 	public Member addMember(Member member) {
-		return memberRepository.save(member);
+		for (String category : member.getCategories()) {
+			if (CategoryRegistry.find(category) == null) {
+				throw new IllegalArgumentException("Unknown category: " + category);
+			}
+		}
+		Member saved = memberRepository.save(member);
+		memberRepository.deleteSearchEntry(saved.getCode());
+		memberRepository.insertSearchEntry(saved.getCode(), ArabicText.normalize(saved.getFullName()),
+				ArabicText.normalize(saved.getPhone()), ArabicText.normalize(saved.getAddress()));
+		return saved;
 	}
 
 	@Override
-	@Transactional
+	@Transactional(readOnly = true)
 	public boolean checkCode(String code) {
 		return memberRepository.existsById(code); // true exist
 	}
 
 	@Override
-	@Transactional
-	public List<Member> getAllMembers() {
-		return memberRepository.findAll();
+	@Transactional(readOnly = true)
+	public void forEachMember(Consumer<MemberDetails> action) {
+		forEachMemberRow(false, action);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public void forEachNotSentMember(Consumer<MemberDetails> action) {
+		forEachMemberRow(true, action);
+	}
+
+	private void forEachMemberRow(boolean notSentOnly, Consumer<MemberDetails> action) {
+		try (Stream<Object[]> rows = memberRepository.streamMemberRows(notSentOnly)) {
+			rows.forEach(row -> action.accept(new MemberDetails((String) row[0], (String) row[1], (String) row[2],
+					(String) row[3], (String) row[4], (String) row[5],
+					categoryNames(row[6] != null ? row[6].toString() : null), (Boolean) row[7])));
+		}
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public MemberPage getMemberPage(String sort, String category, String title, String cursor, int limit) {
+		if (!"code".equals(sort) && !"name".equals(sort)) {
+			throw new IllegalArgumentException("Unknown sort: " + sort);
+		}
+		Category only = CategoryRegistry.filter(category);
+		Integer categoryId = only != null ? only.getId() : null;
+		String titleFilter = title != null && !title.isBlank() ? title.trim() : null;
+		String[] after = cursor != null && !cursor.isBlank() ? decodeCursor(cursor) : new String[] { "", "" };
+		int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+		// One row past the page tells whether there is a next one
+		List<Object[]> rows = "code".equals(sort)
+				? memberRepository.findPageByCode(after[1], titleFilter, categoryId, size + 1)
+				: memberRepository.findPageByName(after[0], after[1], titleFilter, categoryId, size + 1);
+
+		List<MemberSummary> members = new ArrayList<>(Math.min(rows.size(), size));
+		for (Object[] row : rows.subList(0, Math.min(rows.size(), size))) {
+			members.add(toSummary(row));
+		}
+		String nextCursor = null;
+		if (rows.size() > size) {
+			MemberSummary last = members.get(members.size() - 1);
+			nextCursor = encodeCursor(last.fullName(), last.code());
+		}
+		return new MemberPage(members, nextCursor);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<MemberSummary> searchMembers(String query, int limit) {
+		// "محمد احم" -> "محمد"* "احم"*
+		StringBuilder match = new StringBuilder();
+		for (String word : ArabicText.normalize(query).split("[^\\p{L}\\p{N}]+")) {
+			if (!word.isEmpty()) {
+				match.append(match.length() > 0 ? " " : "").append('"').append(word).append("\"*");
+			}
+		}
+		if (match.length() == 0) {
+			return List.of();
+		}
+
+		int size = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+		List<MemberSummary> members = new ArrayList<>(size);
+		for (Object[] row : memberRepository.searchMembers(match.toString(), size)) {
+			members.add(toSummary(row));
+		}
+		return members;
+	}
+
+	// code, full_name, title, phone, category ids
+	private static MemberSummary toSummary(Object[] row) {
+		return new MemberSummary((String) row[0], (String) row[1], (String) row[2], (String) row[3],
+				categoryNames(row[4] != null ? row[4].toString() : null));
+	}
+
+	// The cursor carries the last row's sort key: name and code
+	private static String encodeCursor(String fullName, String code) {
+		return Base64.getUrlEncoder().withoutPadding()
+				.encodeToString((fullName + '\0' + code).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String[] decodeCursor(String cursor) {
+		try {
+			String[] key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\0", 2);
+			if (key.length == 2) {
+				return key;
+			}
+		} catch (IllegalArgumentException e) {
+			// reported below
+		}
+		throw new IllegalArgumentException("Invalid cursor");
+	}
+
+	// "3,1" -> "Cubs and Blossoms, Scouts and Guides" (by id, as Member.getCategory())
+	private static String categoryNames(String categoryIds) {
+		if (categoryIds == null) {
+			return "";
+		}
+		return Arrays.stream(categoryIds.split(",")).map(id -> CategoryRegistry.find(Integer.valueOf(id.trim())))
+				.filter(Objects::nonNull).sorted(Comparator.comparing(Category::getId)).map(Category::getName)
+				.collect(Collectors.joining(", "));
 	}
 
 	@Override
@@ -40,6 +173,9 @@ public class MemberServiceImpl implements MemberService {
 	public void deleteByCode(String code) {
 		if (memberRepository.existsById(code)) {
 			memberRepository.deleteByCode(code);
+			memberRepository.deleteSearchEntry(code);
+			todayRoster.forget(code);
+			liveCounters.reconcileAfterCommit(); // attendance and taxes cascade
 		} else {
 			throw new RuntimeException("Member not found with code: " + code);
 		}
@@ -47,13 +183,13 @@ public class MemberServiceImpl implements MemberService {
 	}
 
 	@Override
-	@Transactional
+	@Transactional(readOnly = true)
 	public Member findById(String code) {
 		return memberRepository.findByCode(code);
 	}
 
 	@Override
-	@Transactional
+	@Transactional(readOnly = true)
 	public Long getCountAllMember() {
 		return memberRepository.getCountAllMember();
 	}
@@ -61,7 +197,7 @@ public class MemberServiceImpl implements MemberService {
 	
 	
 	@Override
-	@Transactional
+	@Transactional(readOnly = true)
 	public List<Member> getAllNotSentMembers() {
 		return memberRepository.findAllNotSent();
 	}
@@ -77,7 +213,7 @@ public class MemberServiceImpl implements MemberService {
 	}
 
 	@Override
-	@Transactional
+	@Transactional(readOnly = true)
 	public Long totalMessageSent() {
 		return memberRepository.totalMessageSent();
 	}
@@ -1,109 +1,125 @@
 package com.scout_system.service.Impl;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.scout_system.dto.DailyTaxTotal;
+import com.scout_system.dto.TaxExportRow;
+import com.scout_system.dto.TaxedAttendance;
+import com.scout_system.dto.UpdatedTax;
+import com.scout_system.model.Category;
 import com.scout_system.repository.TaxRepository;
+import com.scout_system.service.AttendanceStream;
+import com.scout_system.service.CategoryRegistry;
+import com.scout_system.service.LiveCounters;
 import com.scout_system.service.TaxService;
 
-import jakarta.transaction.Transactional;
-
 @Service
 public class TaxServiceImpl implements TaxService {
 
 	@Autowired
 	private TaxRepository taxRepository;
 
+	@Autowired
+	private LiveCounters liveCounters;
+
+	@Autowired
+	private AttendanceStream attendanceStream;
+
 	@Override
-	@Transactional
-	public List<Map<String, Object>> getTotalTaxPerDay() {
-		return taxRepository.getTotalTaxPerDay();
+	@Transactional(readOnly = true)
+	public void forEachDailyTotal(Consumer<DailyTaxTotal> action) {
+		try (Stream<DailyTaxTotal> totals = dailyTotals()) {
+			totals.forEach(action);
+		}
 	}
 
 	@Override
-	@Transactional
+	@Transactional(readOnly = true)
 	public List<Map<String, Object>> getTotalTaxPerMonthWithMonthName() {
 
-		List<Map<String, Object>> monthlyData = taxRepository.getTotalTaxPerMonth();
-
-		return monthlyData.stream().map(record -> {
-			String date = (String) record.get("date"); // YYYY-MM format
-			Object amount = record.get("Amount");  
-
-			String monthName = getMonthName(date); 
+		// Daily totals arrive newest first, so months come out in order too
+		Map<YearMonth, Long> monthly = new LinkedHashMap<>();
+		try (Stream<DailyTaxTotal> totals = dailyTotals()) {
+			totals.forEach(total -> monthly.merge(YearMonth.from(total.date()), total.totalAmount(), Long::sum));
+		}
 
-			return Map.of("date", date, "day", monthName, "Amount", amount != null ? amount : 0L);
-		}).collect(Collectors.toList());
+		List<Map<String, Object>> result = new ArrayList<>();
+		monthly.forEach((month, amount) -> result.add(Map.of("date", month.toString(), "day",
+				month.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH), "Amount", amount)));
+		return result;
 	}
 
-	private String getMonthName(String yearMonthStr) {
-		java.time.YearMonth ym = java.time.YearMonth.parse(yearMonthStr);
-		return ym.getMonth().getDisplayName(java.time.format.TextStyle.FULL, java.util.Locale.ENGLISH);
+	// tax_daily_summary rows: the ISO day and its total
+	private Stream<DailyTaxTotal> dailyTotals() {
+		return taxRepository.getTotalTaxPerDay()
+				.map(row -> new DailyTaxTotal(LocalDate.parse((String) row[0]), ((Number) row[1]).longValue()));
 	}
 
 	@Override
-	@Transactional
 	public Long getAllAmount() {
-		Long total = taxRepository.getAllAmount();
-		return total != null ? total : 0L;
+		return liveCounters.totalRevenue();
 	}
 
 	@Override
-	@Transactional
 	public Long getTotalTaxCurrentMonth() {
-		Long total = taxRepository.getTotalTaxCurrentMonth();
-		return total != null ? total : 0L;
+		return liveCounters.currentMonthRevenue();
 	}
 
 	@Override
-	@Transactional
+	@Transactional(readOnly = true)
 	public Long getTotalTransactionDays() {
 		Long total = taxRepository.getTotalTransactionDays();
 		return total != null ? total : 0L;
 	}
 
 	@Override
-	@Transactional
-	public List<Map<String, Object>> getTodaysScoutsAndGuidesAttendanceWithTax() {
-		String today = java.time.LocalDate.now().toString();
-		return taxRepository.getTodaysScoutsAndGuidesAttendanceWithTax(today);
-	}
-
-	@Override
-	@Transactional
-	public List<Map<String, Object>> getTodaysCubsAndBlossomsAttendanceWithTax() {
-		String today = java.time.LocalDate.now().toString();
-		return taxRepository.getTodaysCubsAndBlossomsAttendanceWithTax(today);
+	@Transactional(readOnly = true)
+	public Map<String, List<TaxedAttendance>> getTodaysAttendanceWithTax(String category) {
+		Category only = CategoryRegistry.filter(category);
+		List<TaxedAttendance> rows = taxRepository.getTodaysAttendanceWithTax(
+				LocalDate.now(ZoneId.of("Africa/Cairo")), only != null ? only.getName() : null);
+		return CategoryRegistry.group(only, rows, TaxedAttendance::category);
 	}
 
 	@Override
-	@Transactional
-	public List<Map<String, Object>> getTodaysBudsAttendanceWithTax() {
-		String today = java.time.LocalDate.now().toString();
-		return taxRepository.getTodaysBudsAttendanceWithTax(today);
+	@Transactional(readOnly = true)
+	public void forEachTaxBetween(LocalDate from, LocalDate to, String category, Consumer<TaxExportRow> action) {
+		Category only = CategoryRegistry.filter(category);
+		try (Stream<TaxExportRow> rows = taxRepository.streamHistory(from, to, only != null ? only.getName() : null)) {
+			rows.forEach(action);
+		}
 	}
 
 	@Override
 	@Transactional
 	public void updateTaxAmount(Long id, int amount) {
+		List<Object[]> before = taxRepository.findAmountAndDayById(id);
 		int rowsAffected = taxRepository.updateTaxAmount(id, amount);
 		if (rowsAffected == 0) {
 			throw new RuntimeException("Tax record not found with id: " + id);
 		}
+		liveCounters.taxUpdatedAfterCommit((LocalDate) before.get(0)[1], (Integer) before.get(0)[0], amount);
+		attendanceStream.publishAfterCommit("taxUpdated", Map.of("taxId", id, "amount", amount));
 	}
 
 	@Override
-	@Transactional
-	public List<Map<String, Object>> getMembersWithUpdatedTax() {
-		String today = LocalDate.now(ZoneId.of("Africa/Cairo")).format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-		return taxRepository.findMembersWithUpdatedTax(today);
+	@Transactional(readOnly = true)
+	public List<UpdatedTax> getMembersWithUpdatedTax() {
+		return taxRepository.findMembersWithUpdatedTax(LocalDate.now(ZoneId.of("Africa/Cairo")));
 	}
 
 }
\ No newline at end of file
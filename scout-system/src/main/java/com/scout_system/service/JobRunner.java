@@ -0,0 +1,149 @@
+package com.scout_system.service;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.CronTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Every background job runs through here: cron jobs register with
+ * {@link #schedule} and run on the spring.task.scheduling pool, and the same
+ * job started by hand or at startup goes through {@link #run}. A job that is
+ * still running is skipped rather than started twice, and each run is timed
+ * per job and outcome. {@link #describe} feeds GET /admin/jobs.
+ */
+@Component
+public class JobRunner implements SchedulingConfigurer {
+
+	private final MeterRegistry meterRegistry;
+	private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+	private volatile boolean configured;
+
+	public JobRunner(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	// Call while the application context starts (constructor or @PostConstruct)
+	public void schedule(String name, String cron, ZoneId zone, Runnable body) {
+		if (configured) {
+			throw new IllegalStateException("Job " + name + " registered after the scheduler started");
+		}
+		Job job = job(name);
+		job.cron = cron;
+		job.zone = zone;
+		job.body = body;
+	}
+
+	@Override
+	public void configureTasks(ScheduledTaskRegistrar registrar) {
+		configured = true;
+		for (Job job : jobs.values()) {
+			if (job.cron != null) {
+				registrar.addCronTask(new CronTask(() -> run(job.name, job.body), new CronTrigger(job.cron, job.zone)));
+				System.out.println("Job " + job.name + " scheduled at '" + job.cron + "' (" + job.zone + ")");
+			}
+		}
+	}
+
+	// False when the job was already running and this run was skipped;
+	// failures are recorded and rethrown
+	public boolean run(String name, Runnable body) {
+		Job job = job(name);
+		if (!job.running.compareAndSet(false, true)) {
+			Counter.builder("scout.job.skipped").description("Runs skipped because the job was still running")
+					.tag("job", name).register(meterRegistry).increment();
+			System.out.println("Job " + name + " is still running, skipped");
+			return false;
+		}
+
+		long start = System.nanoTime();
+		job.lastStart = Instant.now();
+		String outcome = "success";
+		try {
+			body.run();
+			job.lastError = null;
+			return true;
+		} catch (RuntimeException | Error e) {
+			outcome = "failure";
+			job.failures.incrementAndGet();
+			job.lastError = e.toString();
+			throw e;
+		} finally {
+			long nanos = System.nanoTime() - start;
+			job.lastDurationMs = TimeUnit.NANOSECONDS.toMillis(nanos);
+			job.lastOutcome = outcome;
+			job.runs.incrementAndGet();
+			job.running.set(false);
+			Timer.builder("scout.job.duration").description("Background job run time").tag("job", name)
+					.tag("outcome", outcome).register(meterRegistry).record(nanos, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	public List<Map<String, Object>> describe() {
+		List<Map<String, Object>> result = new ArrayList<>();
+		jobs.values().stream().sorted((a, b) -> a.name.compareTo(b.name)).forEach(job -> {
+			Map<String, Object> map = new LinkedHashMap<>();
+			map.put("name", job.name);
+			map.put("cron", job.cron);
+			map.put("zone", job.zone != null ? job.zone.getId() : null);
+			map.put("running", job.running.get());
+			map.put("lastRun", job.lastStart);
+			map.put("lastDurationMs", job.lastStart != null ? job.lastDurationMs : null);
+			map.put("lastOutcome", job.lastOutcome);
+			map.put("lastError", job.lastError);
+			map.put("nextRun", job.nextRun());
+			map.put("runs", job.runs.get());
+			map.put("failures", job.failures.get());
+			result.add(map);
+		});
+		return result;
+	}
+
+	private Job job(String name) {
+		return jobs.computeIfAbsent(name, Job::new);
+	}
+
+	private static final class Job {
+		final String name;
+		final AtomicBoolean running = new AtomicBoolean();
+		final AtomicLong runs = new AtomicLong();
+		final AtomicLong failures = new AtomicLong();
+		volatile String cron;
+		volatile ZoneId zone;
+		volatile Runnable body;
+		volatile Instant lastStart;
+		volatile long lastDurationMs;
+		volatile String lastOutcome;
+		volatile String lastError;
+
+		Job(String name) {
+			this.name = name;
+		}
+
+		Instant nextRun() {
+			if (cron == null) {
+				return null;
+			}
+			ZonedDateTime next = CronExpression.parse(cron).next(ZonedDateTime.now(zone));
+			return next != null ? next.toInstant() : null;
+		}
+	}
+}
@@ -0,0 +1,256 @@
+package com.scout_system.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.scout_system.repository.AttendanceRepository;
+import com.scout_system.repository.TaxRepository;
+
+/**
+ * Today's present/absent/late counts and the revenue totals the dashboard
+ * and gate pages poll, kept in memory so reading them never touches SQLite.
+ * Check-ins and tax updates adjust them once their transaction commits; bulk
+ * writes (absent rows, batches, deletes, cleanup) and a 5 minute job reload
+ * them from the database, as does the first read of a new day.
+ *
+ * Present and absent count distinct members, like the queries they replace,
+ * so each member's rows per status are tracked too. A category's Absent rows
+ * are written on its first scan but only count once its register closes
+ * (absent_at), when the absent-marking job reconciles again.
+ */
+@Component
+public class LiveCounters {
+
+	private static final Logger log = LoggerFactory.getLogger(LiveCounters.class);
+	private static final ZoneId CAIRO = ZoneId.of("Africa/Cairo");
+
+	// After commit, a transaction's deltas run before its reconcile: the reload
+	// already counts that transaction's rows, so a delta applied on top of it
+	// would count them twice
+	private static final int DELTA_ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+	private static final int RECONCILE_ORDER = Ordered.LOWEST_PRECEDENCE;
+
+	private final AttendanceRepository attendanceRepository;
+	private final TaxRepository taxRepository;
+
+	// Deltas share the read side; a reconcile takes the write side so none
+	// lands on the state it is about to replace
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private volatile Day current = new Day(LocalDate.MIN, List.of());
+
+	public LiveCounters(AttendanceRepository attendanceRepository, TaxRepository taxRepository, JobRunner jobRunner) {
+		this.attendanceRepository = attendanceRepository;
+		this.taxRepository = taxRepository;
+		jobRunner.schedule("liveCountersReconcile", "0 */5 * * * *", CAIRO, this::reconcile);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		reconcile();
+	}
+
+	public long presentToday() {
+		return today().present.sum();
+	}
+
+	public long absentToday() {
+		return today().absent.sum();
+	}
+
+	public long lateToday() {
+		return today().late.sum();
+	}
+
+	public long totalRevenue() {
+		return today().revenue.sum();
+	}
+
+	public long currentMonthRevenue() {
+		return today().monthRevenue.sum();
+	}
+
+	// flippedAbsent: the check-in replaced the member's Absent row, which was
+	// only counted if the category's register had closed
+	public void checkedInAfterCommit(String memberCode, String category, LocalDate dateOfDay, boolean scoutLeader,
+			boolean flippedAbsent, int taxAmount) {
+		afterCommit(() -> {
+			Day day = current;
+			if (!day.date.equals(dateOfDay)) {
+				return;
+			}
+			if (!scoutLeader && day.presentRows.merge(memberCode, 1, Integer::sum) == 1) {
+				day.present.increment();
+			}
+			if (flippedAbsent && day.closed.contains(category) && removeRow(day.absentRows, memberCode)) {
+				day.absent.decrement();
+			}
+			if (taxAmount == -1) {
+				day.late.increment();
+			} else if (taxAmount > 0) {
+				day.revenue.add(taxAmount);
+				day.monthRevenue.add(taxAmount);
+			}
+		});
+	}
+
+	public void taxUpdatedAfterCommit(LocalDate dateOfDay, int oldAmount, int newAmount) {
+		afterCommit(() -> {
+			Day day = current;
+			long delta = Math.max(newAmount, 0) - Math.max(oldAmount, 0);
+			day.revenue.add(delta);
+			if (YearMonth.from(dateOfDay).equals(YearMonth.from(day.date))) {
+				day.monthRevenue.add(delta);
+			}
+			if (dateOfDay.equals(day.date)) {
+				day.late.add((newAmount == -1 ? 1 : 0) - (oldAmount == -1 ? 1 : 0));
+			}
+		});
+	}
+
+	public void reconcileAfterCommit() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			reconcile();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				reconcile();
+			}
+
+			@Override
+			public int getOrder() {
+				return RECONCILE_ORDER;
+			}
+		});
+	}
+
+	public void reconcile() {
+		reconcile(LocalDateTime.now(CAIRO), false);
+	}
+
+	private Day reconcile(LocalDateTime now, boolean onlyIfStale) {
+		LocalDate date = now.toLocalDate();
+		lock.writeLock().lock();
+		try {
+			if (onlyIfStale && current.date.equals(date)) {
+				return current; // another reader got here first
+			}
+			Day day = new Day(date, CategoryRegistry.closedAt(now.toLocalTime()));
+			for (Object[] row : attendanceRepository.findCountedStatusesByDateOfDay(date, day.closed)) {
+				Map<String, Integer> rows = "Absent".equals(row[1]) ? day.absentRows : day.presentRows;
+				rows.merge((String) row[0], 1, Integer::sum);
+			}
+			day.present.add(day.presentRows.size());
+			day.absent.add(day.absentRows.size());
+			day.late.add(orZero(taxRepository.getCountLateByDate(date)));
+			day.revenue.add(orZero(taxRepository.getAllAmount()));
+			YearMonth month = YearMonth.from(date);
+			day.monthRevenue.add(orZero(taxRepository.getTotalTaxBetween(month.atDay(1).toString(),
+					month.plusMonths(1).atDay(1).toString())));
+
+			Day previous = current;
+			current = day;
+			if (!previous.date.equals(date)) {
+				log.info("Live counters for {}: {}", date, totals(day));
+			} else if (!totals(previous).equals(totals(day))) {
+				log.warn("Live counters for {} drifted: {} were {}", date, totals(day), totals(previous));
+			}
+			return day;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private Day today() {
+		Day day = current;
+		LocalDateTime now = LocalDateTime.now(CAIRO);
+		return day.date.equals(now.toLocalDate()) ? day : reconcile(now, true);
+	}
+
+	private void afterCommit(Runnable delta) {
+		Runnable locked = () -> {
+			lock.readLock().lock();
+			try {
+				delta.run();
+			} finally {
+				lock.readLock().unlock();
+			}
+		};
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			locked.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				locked.run();
+			}
+
+			@Override
+			public int getOrder() {
+				return DELTA_ORDER;
+			}
+		});
+	}
+
+	// True when the member's last row with this status is gone
+	private static boolean removeRow(Map<String, Integer> rows, String memberCode) {
+		boolean[] removed = new boolean[1];
+		rows.computeIfPresent(memberCode, (code, count) -> {
+			removed[0] = count == 1;
+			return count == 1 ? null : count - 1;
+		});
+		return removed[0];
+	}
+
+	private static Map<String, Long> totals(Day day) {
+		Map<String, Long> totals = new LinkedHashMap<>();
+		totals.put("present", day.present.sum());
+		totals.put("absent", day.absent.sum());
+		totals.put("late", day.late.sum());
+		totals.put("revenue", day.revenue.sum());
+		totals.put("monthRevenue", day.monthRevenue.sum());
+		return totals;
+	}
+
+	private static long orZero(Long value) {
+		return value != null ? value : 0L;
+	}
+
+	private static final class Day {
+		final LocalDate date;
+		// Categories whose Absent rows this day counts
+		final List<String> closed;
+		final Map<String, Integer> presentRows = new ConcurrentHashMap<>();
+		final Map<String, Integer> absentRows = new ConcurrentHashMap<>();
+		final LongAdder present = new LongAdder();
+		final LongAdder absent = new LongAdder();
+		final LongAdder late = new LongAdder();
+		final LongAdder revenue = new LongAdder();
+		final LongAdder monthRevenue = new LongAdder();
+
+		Day(LocalDate date, List<String> closed) {
+			this.date = date;
+			this.closed = closed;
+		}
+	}
+}
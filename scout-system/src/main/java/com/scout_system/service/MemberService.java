@@ -1,16 +1,30 @@
 package com.scout_system.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
+import com.scout_system.dto.MemberDetails;
+import com.scout_system.dto.MemberPage;
+import com.scout_system.dto.MemberSummary;
 import com.scout_system.model.Member;
 
 public interface MemberService {
 
-	Member addMember(Member member); // addMember
+	Member addMember(Member member); // insert or update; an unknown category is an IllegalArgumentException
 
 	boolean checkCode(String code); // check code
 
-	List<Member> getAllMembers(); // all members
+	// All members in code order, handed over as the query reads them
+	void forEachMember(Consumer<MemberDetails> action);
+
+	// sort is "code" or "name"; category and title filter when not null, and
+	// cursor is the previous page's nextCursor (null for the first page). An
+	// unknown sort or category, or a bad cursor, is an IllegalArgumentException
+	MemberPage getMemberPage(String sort, String category, String title, String cursor, int limit);
+
+	// Typeahead over name, code, phone and address: every word of the query is
+	// matched as a prefix, Arabic spelling variants folded (ArabicText)
+	List<MemberSummary> searchMembers(String query, int limit);
 
 	void deleteByCode(String code);
 
@@ -20,6 +34,8 @@ public interface MemberService {
 
 	public List<Member> getAllNotSentMembers();
 
+	void forEachNotSentMember(Consumer<MemberDetails> action);
+
 	public void markAsSent(String code);
 
 	public Long totalMessageSent();
@@ -1,19 +1,26 @@
 package com.scout_system.service;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
+import com.scout_system.dto.DailyTaxTotal;
+import com.scout_system.dto.TaxExportRow;
+import com.scout_system.dto.TaxedAttendance;
+import com.scout_system.dto.UpdatedTax;
 
 public interface TaxService{
 	
-	List<Map<String, Object>> getTotalTaxPerDay();
+	// Newest day first, handed over as the query reads them
+	void forEachDailyTotal(Consumer<DailyTaxTotal> action);
 	List<Map<String, Object>> getTotalTaxPerMonthWithMonthName();
 	Long getTotalTaxCurrentMonth();
 	Long getAllAmount();
 	Long getTotalTransactionDays();
-	List<Map<String, Object>> getTodaysScoutsAndGuidesAttendanceWithTax();
-	List<Map<String, Object>> getTodaysCubsAndBlossomsAttendanceWithTax();
-	List<Map<String, Object>> getTodaysBudsAttendanceWithTax();
+	Map<String, List<TaxedAttendance>> getTodaysAttendanceWithTax(String category);
+	// Days from..to inclusive, category null for all, handed over as the query reads them
+	void forEachTaxBetween(LocalDate from, LocalDate to, String category, Consumer<TaxExportRow> action);
 	void updateTaxAmount(Long id, int amount);
-	public List<Map<String, Object>> getMembersWithUpdatedTax();
+	public List<UpdatedTax> getMembersWithUpdatedTax();
 }
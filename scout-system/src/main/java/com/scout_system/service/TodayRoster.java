@@ -0,0 +1,190 @@
+package com.scout_system.service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.scout_system.model.Category;
+import com.scout_system.repository.AttendanceRepository;
+
+/**
+ * In-memory index of today's (member, category) attendance rows, so duplicate
+ * scan checks don't hit SQLite. Warmed from the attendance table at startup
+ * and at midnight Cairo time, then kept current by {@link #admitAfterCommit}.
+ * Until the day is loaded, lookups fall back to the database.
+ *
+ * Each category's roster is pre-materialized as Absent rows on its first scan
+ * of the day; an Absent row only blocks a scan once the category's absent_at
+ * has passed, as it did when absentees were inserted at that time.
+ */
+@Component
+public class TodayRoster {
+
+	private static final ZoneId CAIRO = ZoneId.of("Africa/Cairo");
+
+	private final AttendanceRepository attendanceRepository;
+	private final Clock clock;
+	private volatile Day current = new Day(LocalDate.MIN);
+
+	@Autowired
+	public TodayRoster(AttendanceRepository attendanceRepository, JobRunner jobRunner) {
+		this(attendanceRepository, jobRunner, Clock.system(CAIRO));
+	}
+
+	// Tests move the clock across midnight and absent_at
+	TodayRoster(AttendanceRepository attendanceRepository, JobRunner jobRunner, Clock clock) {
+		this.attendanceRepository = attendanceRepository;
+		this.clock = clock;
+		jobRunner.schedule("rosterRollOver", "0 0 0 * * *", CAIRO, this::rollOver);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		load(today());
+	}
+
+	public void rollOver() {
+		load(today());
+	}
+
+	public boolean contains(String memberCode, String category) {
+		LocalDate today = today();
+		Day day = current;
+		if (!day.date.equals(today)) {
+			day = load(today); // the midnight job hasn't run yet
+		}
+		boolean registerClosed = isRegisterClosed(category);
+		if (!day.loaded) {
+			return attendanceRepository.hasAlreadyAttendedToday(memberCode, today, category, registerClosed);
+		}
+		Admission admission = new Admission(memberCode, category);
+		return day.present.contains(admission) || (registerClosed && day.absent.contains(admission));
+	}
+
+	// The category's Absent rows for the day already exist, so the first-scan
+	// insert can be skipped
+	public boolean isMaterialized(String category, LocalDate dateOfDay) {
+		Day day = current;
+		return day.loaded && day.date.equals(dateOfDay) && day.materialized.contains(category);
+	}
+
+	// Rows become visible only once the inserting transaction commits, so a
+	// rolled-back check-in can never block a rescan
+	public void admitAfterCommit(String memberCode, String category, LocalDate dateOfDay) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			admit(memberCode, category, dateOfDay);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				admit(memberCode, category, dateOfDay);
+			}
+		});
+	}
+
+	// For bulk inserts (absent rows): re-read the day once they commit
+	public void reloadAfterCommit() {
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				load(today(), true);
+			}
+		});
+	}
+
+	public void admit(String memberCode, String category, LocalDate dateOfDay) {
+		Day day = current;
+		if (day.date.equals(dateOfDay)) {
+			Admission admission = new Admission(memberCode, category);
+			day.present.add(admission);
+			day.absent.remove(admission);
+		}
+	}
+
+	// A materializing insert that found every row already there doesn't
+	// reload the day; remember it so the next scan skips the insert
+	public void materializedAfterCommit(String category, LocalDate dateOfDay) {
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				Day day = current;
+				if (day.date.equals(dateOfDay)) {
+					day.materialized.add(category);
+				}
+			}
+		});
+	}
+
+	// Deleting a member cascades to their attendance rows
+	public void forget(String memberCode) {
+		current.present.removeIf(admission -> admission.memberCode().equals(memberCode));
+		current.absent.removeIf(admission -> admission.memberCode().equals(memberCode));
+	}
+
+	// The new day is published before it is filled so check-ins committed
+	// during the warm-up query are not lost
+	private Day load(LocalDate date) {
+		return load(date, false);
+	}
+
+	private synchronized Day load(LocalDate date, boolean force) {
+		if (!force && current.date.equals(date) && current.loaded) {
+			return current;
+		}
+
+		Day day = new Day(date);
+		current = day;
+
+		List<Object[]> rows = attendanceRepository.findAdmissionsByDateOfDay(date);
+		for (Object[] row : rows) {
+			Admission admission = new Admission((String) row[0], (String) row[1]);
+			if ("Absent".equals(row[2])) {
+				day.absent.add(admission);
+				day.materialized.add(admission.category());
+			} else {
+				day.present.add(admission);
+			}
+		}
+		day.loaded = true;
+
+		System.out.println("Today's roster loaded for " + date + ": " + day.present.size() + " present, "
+				+ day.absent.size() + " absent");
+		return day;
+	}
+
+	private boolean isRegisterClosed(String category) {
+		Category known = CategoryRegistry.find(category);
+		return known != null && !LocalTime.now(clock).isBefore(known.getAbsentAt());
+	}
+
+	private LocalDate today() {
+		return LocalDate.now(clock);
+	}
+
+	private record Admission(String memberCode, String category) {
+	}
+
+	private static final class Day {
+		final LocalDate date;
+		final Set<Admission> present = ConcurrentHashMap.newKeySet();
+		final Set<Admission> absent = ConcurrentHashMap.newKeySet();
+		final Set<String> materialized = ConcurrentHashMap.newKeySet();
+		volatile boolean loaded;
+
+		Day(LocalDate date) {
+			this.date = date;
+		}
+	}
+}
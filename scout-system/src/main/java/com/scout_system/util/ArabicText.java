@@ -0,0 +1,44 @@
+package com.scout_system.util;
+
+/**
+ * Folds the spellings of one Arabic name to a single form for member search,
+ * the same way on both the indexed text and the typed query: alef with hamza
+ * or madda to bare alef, alef maqsura to yaa, taa marbuta to haa, harakat and
+ * tatweel removed, Arabic-Indic digits to ASCII, everything else lower-cased.
+ */
+public final class ArabicText {
+
+	private ArabicText() {
+	}
+
+	public static String normalize(String text) {
+		if (text == null) {
+			return "";
+		}
+		StringBuilder normalized = new StringBuilder(text.length());
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			switch (c) {
+			case 'أ', 'إ', 'آ', 'ٱ' -> normalized.append('ا');
+			case 'ى' -> normalized.append('ي');
+			case 'ة' -> normalized.append('ه');
+			case 'ـ' -> {
+				// tatweel only stretches the word
+			}
+			default -> {
+				if ((c >= '\u064B' && c <= '\u065F') || c == '\u0670') {
+					continue; // harakat, shadda, sukun, superscript alef
+				}
+				if (c >= '\u0660' && c <= '\u0669') {
+					normalized.append((char) ('0' + (c - '\u0660')));
+				} else if (c >= '\u06F0' && c <= '\u06F9') {
+					normalized.append((char) ('0' + (c - '\u06F0')));
+				} else {
+					normalized.append(Character.toLowerCase(c));
+				}
+			}
+			}
+		}
+		return normalized.toString();
+	}
+}
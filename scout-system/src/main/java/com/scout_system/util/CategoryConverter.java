@@ -0,0 +1,28 @@
+package com.scout_system.util;
+
+import com.scout_system.model.Category;
+import com.scout_system.service.CategoryRegistry;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Keeps category names in the Java model and JSON while the tables store the
+ * category id. Unknown names map to null, so a query filtering on one simply
+ * matches nothing.
+ */
+@Converter
+public class CategoryConverter implements AttributeConverter<String, Integer> {
+
+	@Override
+	public Integer convertToDatabaseColumn(String name) {
+		Category category = CategoryRegistry.find(name);
+		return category == null ? null : category.getId();
+	}
+
+	@Override
+	public String convertToEntityAttribute(Integer id) {
+		Category category = CategoryRegistry.find(id);
+		return category == null ? null : category.getName();
+	}
+}
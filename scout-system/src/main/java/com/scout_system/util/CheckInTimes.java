@@ -0,0 +1,34 @@
+package com.scout_system.util;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Check-ins are stored as epoch millis so they sort and range-scan correctly;
+ * the 12-hour "hh:mm:ss a" text the UI shows is only produced here, when a
+ * response is built.
+ */
+public final class CheckInTimes {
+
+	public static final ZoneId CAIRO = ZoneId.of("Africa/Cairo");
+	public static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("hh:mm:ss a");
+
+	// What absent rows have always shown instead of a time
+	public static final String NO_CHECK_IN = "—";
+
+	private CheckInTimes() {
+	}
+
+	public static long toEpochMillis(LocalDateTime cairoTime) {
+		return cairoTime.atZone(CAIRO).toInstant().toEpochMilli();
+	}
+
+	public static String format(Long epochMillis) {
+		if (epochMillis == null) {
+			return NO_CHECK_IN;
+		}
+		return Instant.ofEpochMilli(epochMillis).atZone(CAIRO).format(TIME_FORMAT);
+	}
+}
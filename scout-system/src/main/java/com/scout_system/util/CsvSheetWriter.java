@@ -0,0 +1,66 @@
+package com.scout_system.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV. The byte order mark lets Excel read the Arabic names as
+ * UTF-8, and text starting like a formula is prefixed with an apostrophe so a
+ * spreadsheet never evaluates a member's name.
+ */
+final class CsvSheetWriter implements ExportStreams.SheetWriter {
+
+	private final Writer writer;
+
+	CsvSheetWriter(OutputStream out) {
+		this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+	}
+
+	@Override
+	public void header(List<String> columns) throws IOException {
+		writer.write('\uFEFF');
+		row(columns.toArray());
+	}
+
+	@Override
+	public void row(Object[] cells) throws IOException {
+		for (int i = 0; i < cells.length; i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			if (cells[i] != null) {
+				writeField(cells[i].toString(), cells[i] instanceof String);
+			}
+		}
+		writer.write("\r\n");
+	}
+
+	private void writeField(String value, boolean text) throws IOException {
+		if (text && !value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+			value = "'" + value;
+		}
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+				&& value.indexOf('\r') < 0) {
+			writer.write(value);
+			return;
+		}
+		writer.write('"');
+		writer.write(value.replace("\"", "\"\""));
+		writer.write('"');
+	}
+
+	@Override
+	public void flush() throws IOException {
+		writer.flush();
+	}
+
+	@Override
+	public void finish() throws IOException {
+		writer.flush();
+	}
+}
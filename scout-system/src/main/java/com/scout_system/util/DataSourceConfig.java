@@ -0,0 +1,63 @@
+package com.scout_system.util;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Two pools on the one SQLite file. In WAL mode readers never block the
+ * writer or each other, but only one connection can write at a time, so
+ * writes get a single connection and read-only transactions a pool of
+ * query_only ones: a dashboard read no longer waits for a check-in to hand
+ * back a shared connection.
+ *
+ * The choice is made when a transaction first uses its connection:
+ * {@code @Transactional(readOnly = true)} (and Spring Data's own query
+ * methods) go to the readers, everything else to the writer.
+ */
+@Configuration
+public class DataSourceConfig {
+
+	@Bean(destroyMethod = "close")
+	public HikariDataSource writeDataSource(DataSourceProperties properties, Environment environment) {
+		HikariDataSource writer = pool(properties, environment, "sqlite-write");
+		writer.setMaximumPoolSize(1);
+		writer.setMinimumIdle(1);
+		return writer;
+	}
+
+	@Bean(destroyMethod = "close")
+	public HikariDataSource readDataSource(DataSourceProperties properties, Environment environment,
+			@Value("${scout.datasource.read-pool-size}") int readPoolSize) {
+		HikariDataSource readers = pool(properties, environment, "sqlite-read");
+		readers.setMaximumPoolSize(readPoolSize);
+		readers.setConnectionInitSql("PRAGMA query_only = true");
+		return readers;
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(HikariDataSource writeDataSource, HikariDataSource readDataSource) {
+		LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(writeDataSource);
+		dataSource.setReadOnlyDataSource(readDataSource);
+		return dataSource;
+	}
+
+	// spring.datasource.url and the shared spring.datasource.hikari settings
+	private static HikariDataSource pool(DataSourceProperties properties, Environment environment, String name) {
+		HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+		pool.setPoolName(name);
+		return pool;
+	}
+}
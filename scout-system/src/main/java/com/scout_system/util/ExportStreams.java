@@ -0,0 +1,95 @@
+package com.scout_system.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Writes a report's rows as a CSV or XLSX download while the query is still
+ * reading them, as {@link JsonStreams} does for the JSON lists: the source (a
+ * service method over a repository Stream) hands over one row at a time, so a
+ * long range never sits whole in the heap or in the browser.
+ *
+ * A query that fails halfway cuts the download short; an XLSX then has no
+ * zip directory and will not open, rather than opening without its tail.
+ */
+@Component
+public class ExportStreams {
+
+	private static final int FLUSH_EVERY = 256; // rows per network write after the first
+
+	private static final MediaType CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+	private static final MediaType XLSX = MediaType
+			.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+	/**
+	 * @param format   csv or xlsx; anything else is an IllegalArgumentException,
+	 *                 thrown before the response starts
+	 * @param fileName the download's name without extension
+	 * @param columns  header row
+	 * @param cells    a row's values: String, Number or LocalDate, null for empty
+	 */
+	public <T> ResponseEntity<StreamingResponseBody> respond(String format, String fileName, List<String> columns,
+			Function<T, Object[]> cells, Consumer<Consumer<T>> rows) {
+		boolean xlsx = switch (format == null ? "" : format.toLowerCase(Locale.ROOT)) {
+		case "csv" -> false;
+		case "xlsx" -> true;
+		default -> throw new IllegalArgumentException("Unknown export format: " + format);
+		};
+		ContentDisposition attachment = ContentDisposition.attachment()
+				.filename(fileName + (xlsx ? ".xlsx" : ".csv")).build();
+		return ResponseEntity.ok().header(HttpHeaders.CONTENT_DISPOSITION, attachment.toString())
+				.contentType(xlsx ? XLSX : CSV)
+				.body(out -> write(xlsx ? new XlsxSheetWriter(out) : new CsvSheetWriter(out), columns, cells, rows));
+	}
+
+	// The download's endpoints declare a streamed body, so errors are streamed too
+	public ResponseEntity<StreamingResponseBody> badRequest(String message) {
+		return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN)
+				.body(out -> out.write(message.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private <T> void write(SheetWriter sheet, List<String> columns, Function<T, Object[]> cells,
+			Consumer<Consumer<T>> rows) throws IOException {
+		sheet.header(columns);
+		int[] written = { 0 };
+		try {
+			rows.accept(row -> {
+				try {
+					sheet.row(cells.apply(row));
+					if (written[0]++ % FLUSH_EVERY == 0) {
+						sheet.flush();
+					}
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause(); // usually the client went away
+		}
+		sheet.finish();
+	}
+
+	// One output format, written top to bottom
+	interface SheetWriter {
+
+		void header(List<String> columns) throws IOException;
+
+		void row(Object[] cells) throws IOException;
+
+		void flush() throws IOException;
+
+		void finish() throws IOException;
+	}
+}
@@ -0,0 +1,78 @@
+package com.scout_system.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Writes a list endpoint's rows as a JSON array while the query is still
+ * reading them, instead of collecting a List for Jackson first: the source
+ * (a service method over a repository Stream) hands over one row at a time,
+ * so memory stays flat however many rows there are and the first bytes leave
+ * before the last row is read. ETags work as in {@link TableVersions#respond}.
+ *
+ * A query that fails halfway leaves the array unclosed, so the client sees
+ * invalid JSON rather than a list that quietly lost its tail.
+ */
+@Component
+public class JsonStreams {
+
+	private static final int FLUSH_EVERY = 256; // rows per network write after the first
+
+	private final ObjectWriter writer;
+	private final TableVersions tableVersions;
+
+	public JsonStreams(ObjectMapper objectMapper, TableVersions tableVersions) {
+		this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		this.tableVersions = tableVersions;
+	}
+
+	// 304 when the client's copy is current, otherwise the rows as they are read
+	public <T> ResponseEntity<StreamingResponseBody> respond(WebRequest request, Consumer<Consumer<T>> rows,
+			String... tables) {
+		String etag = tableVersions.etag(tables);
+		if (request.checkNotModified(etag)) {
+			return null;
+		}
+		// checkNotModified has already put the ETag on the response; repeating it
+		// here would send the header twice, as these headers are added, not merged
+		return ResponseEntity.ok().cacheControl(CacheControl.noCache()).contentType(MediaType.APPLICATION_JSON)
+				.body(out -> writeArray(out, rows));
+	}
+
+	private <T> void writeArray(OutputStream out, Consumer<Consumer<T>> rows) throws IOException {
+		JsonGenerator generator = writer.createGenerator(out);
+		generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+		generator.writeStartArray();
+		int[] written = { 0 };
+		try {
+			rows.accept(row -> {
+				try {
+					writer.writeValue(generator, row);
+					if (written[0]++ % FLUSH_EVERY == 0) {
+						generator.flush();
+					}
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause(); // usually the client went away
+		}
+		generator.writeEndArray();
+		generator.flush();
+	}
+}
@@ -0,0 +1,19 @@
+package com.scout_system.util;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.time.LocalTime;
+
+@Converter(autoApply = true)
+public class LocalTimeAttributeConverter implements AttributeConverter<LocalTime, String> {
+
+    @Override
+    public String convertToDatabaseColumn(LocalTime localTime) {
+        return (localTime == null ? null : localTime.toString());
+    }
+
+    @Override
+    public LocalTime convertToEntityAttribute(String dbData) {
+        return (dbData == null ? null : LocalTime.parse(dbData));
+    }
+}
@@ -0,0 +1,326 @@
+package com.scout_system.util;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.sql.DataSource;
+
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Schema changes that {@code ddl-auto=update} cannot apply to an existing
+ * SQLite file (unique indexes, data rewrites). Runs once Hibernate has
+ * created or updated the tables, and every step is safe to repeat.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class SchemaMigrations {
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public SchemaMigrations(DataSource dataSource) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+	@PostConstruct
+	public void migrate() {
+		seedCategories();
+		migrateCategoryIds();
+		ensureUniqueAttendancePerDay();
+		migrateCheckInTimeToEpoch();
+		ensureMemberSearch();
+		ensureTaxDailySummary();
+	}
+
+	private void seedCategories() {
+		jdbcTemplate.update("""
+				INSERT OR IGNORE INTO categories (id, name, late_after, absent_at) VALUES
+				    (1, 'Scouts and Guides', '12:10', '12:32'),
+				    (2, 'Cubs and Blossoms', '12:10', '12:31'),
+				    (3, 'Buds', '11:40', '11:51')
+				""");
+	}
+
+	// attendance.category and members.category repeated the category name in
+	// every row; replace them with category ids (members can have several,
+	// stored as "Scouts and Guides, Buds", so they go to member_categories).
+	// Dropping the old columns would lose any name without an id, so nothing
+	// is moved until every name matches a category
+	private void migrateCategoryIds() {
+		boolean attendanceNames = hasColumn("attendance", "category");
+		boolean memberNames = hasColumn("members", "category");
+		if (!attendanceNames && !memberNames) {
+			return;
+		}
+
+		Map<String, Integer> ids = new HashMap<>();
+		jdbcTemplate.query("SELECT id, name FROM categories", rs -> {
+			ids.put(rs.getString("name").toLowerCase(Locale.ROOT), rs.getInt("id"));
+		});
+
+		String match = "SELECT c.id FROM categories c WHERE LOWER(c.name) = LOWER(TRIM(attendance.category))";
+		Map<String, Integer> unknown = new LinkedHashMap<>();
+		if (attendanceNames) {
+			jdbcTemplate.query("SELECT category, COUNT(*) AS n FROM attendance "
+					+ "WHERE TRIM(COALESCE(category, '')) <> '' AND NOT EXISTS (" + match + ") GROUP BY category",
+					rs -> {
+						unknown.merge("attendance '" + rs.getString("category") + "'", rs.getInt("n"), Integer::sum);
+					});
+		}
+
+		List<Object[]> links = new ArrayList<>();
+		if (memberNames) {
+			jdbcTemplate.query("SELECT code, category FROM members", rs -> {
+				String categories = rs.getString("category");
+				if (categories == null) {
+					return;
+				}
+				for (String name : categories.split(",")) {
+					String trimmed = name.trim();
+					if (trimmed.isEmpty()) {
+						continue;
+					}
+					Integer id = ids.get(trimmed.toLowerCase(Locale.ROOT));
+					if (id != null) {
+						links.add(new Object[] { rs.getString("code"), id });
+					} else {
+						unknown.merge("members '" + trimmed + "'", 1, Integer::sum);
+					}
+				}
+			});
+		}
+
+		if (!unknown.isEmpty()) {
+			List<String> names = new ArrayList<>();
+			unknown.forEach((name, rows) -> names.add(name + " (" + rows + (rows == 1 ? " row)" : " rows)")));
+			throw new IllegalStateException("Categories not migrated, these names match no row in categories: "
+					+ String.join(", ", names) + ". Add them to categories or correct the rows, then restart");
+		}
+
+		if (attendanceNames) {
+			int rows = jdbcTemplate.update(
+					"UPDATE attendance SET category_id = (" + match + ") WHERE EXISTS (" + match + ")");
+
+			// Indexes on the old column block DROP COLUMN; both come back on
+			// category_id (the unique one in ensureUniqueAttendancePerDay)
+			jdbcTemplate.execute("DROP INDEX IF EXISTS uk_attendance_member_day_category");
+			jdbcTemplate.execute("DROP INDEX IF EXISTS idx_attendance_day_category_status");
+			jdbcTemplate.execute("ALTER TABLE attendance DROP COLUMN category");
+			jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_attendance_day_category_status "
+					+ "ON attendance (date_of_day, category_id, status)");
+
+			System.out.println("Moved " + rows + " attendance rows to category ids");
+		}
+
+		if (memberNames) {
+			jdbcTemplate.batchUpdate("INSERT OR IGNORE INTO member_categories (member_code, category_id) VALUES (?, ?)",
+					links);
+			jdbcTemplate.execute("ALTER TABLE members DROP COLUMN category");
+
+			System.out.println("Moved " + links.size() + " member categories to member_categories");
+		}
+	}
+
+	// One attendance row per (member, day, category); older databases may hold
+	// duplicates from concurrent scans, keep the first one and its tax
+	private void ensureUniqueAttendancePerDay() {
+		if (hasUniqueIndex("attendance", List.of("member_code", "date_of_day", "category_id"))) {
+			return;
+		}
+
+		String duplicates = """
+				SELECT a.id FROM attendance a
+				WHERE EXISTS (
+				    SELECT 1 FROM attendance b
+				    WHERE b.member_code = a.member_code
+				      AND b.date_of_day = a.date_of_day
+				      AND b.category_id = a.category_id
+				      AND b.id < a.id)
+				""";
+		int taxes = jdbcTemplate.update("DELETE FROM taxes WHERE attendance_id IN (" + duplicates + ")");
+		int rows = jdbcTemplate.update("DELETE FROM attendance WHERE id IN (" + duplicates + ")");
+		if (rows > 0) {
+			System.out.println("Removed " + rows + " duplicate attendance rows (" + taxes + " taxes)");
+		}
+
+		jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS uk_attendance_member_day_category "
+				+ "ON attendance (member_code, date_of_day, category_id)");
+	}
+
+	// check_in_time held "hh:mm:ss a" text that sorted wrong across AM/PM;
+	// move it to check_in_at (epoch millis, Cairo time) and drop the old column
+	private void migrateCheckInTimeToEpoch() {
+		if (!hasColumn("attendance", "check_in_time")) {
+			return;
+		}
+
+		List<Object[]> updates = new ArrayList<>();
+		jdbcTemplate.query("SELECT id, date_of_day, check_in_time FROM attendance WHERE check_in_at IS NULL", rs -> {
+			Long checkInAt = parseCheckIn(rs.getString("date_of_day"), rs.getString("check_in_time"));
+			if (checkInAt != null) {
+				updates.add(new Object[] { checkInAt, rs.getLong("id") });
+			}
+		});
+		jdbcTemplate.batchUpdate("UPDATE attendance SET check_in_at = ? WHERE id = ?", updates);
+		jdbcTemplate.execute("ALTER TABLE attendance DROP COLUMN check_in_time");
+
+		System.out.println("Moved " + updates.size() + " attendance check-in times to check_in_at");
+	}
+
+	// Absent rows stored "—"; they keep a null check_in_at
+	private static Long parseCheckIn(String dateOfDay, String checkInTime) {
+		if (dateOfDay == null || checkInTime == null) {
+			return null;
+		}
+		// Written with the server's default locale; English is the usual one
+		for (Locale locale : List.of(Locale.getDefault(), Locale.ENGLISH)) {
+			try {
+				LocalTime time = LocalTime.parse(checkInTime.trim(),
+						DateTimeFormatter.ofPattern("hh:mm:ss a", locale));
+				return CheckInTimes.toEpochMillis(LocalDate.parse(dateOfDay).atTime(time));
+			} catch (DateTimeParseException e) {
+				// try the next locale
+			}
+		}
+		return null;
+	}
+
+	// FTS5 index behind /members/search over ArabicText-normalized copies of
+	// the searchable member fields. MemberServiceImpl keeps it in step; it is
+	// rebuilt here when new, or when its row count no longer matches members
+	private void ensureMemberSearch() {
+		jdbcTemplate.execute("""
+				CREATE VIRTUAL TABLE IF NOT EXISTS member_search USING fts5(
+				    code, full_name, phone, address, tokenize = 'unicode61', prefix = '2 3')
+				""");
+		Long indexed = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM member_search", Long.class);
+		Long members = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM members", Long.class);
+		if (Objects.equals(indexed, members)) {
+			return;
+		}
+
+		List<Object[]> rows = jdbcTemplate.query("SELECT code, full_name, phone, address FROM members",
+				(rs, rowNum) -> new Object[] { rs.getString(1), ArabicText.normalize(rs.getString(2)),
+						ArabicText.normalize(rs.getString(3)), ArabicText.normalize(rs.getString(4)) });
+		jdbcTemplate.update("DELETE FROM member_search");
+		jdbcTemplate.batchUpdate("INSERT INTO member_search (code, full_name, phone, address) VALUES (?, ?, ?, ?)",
+				rows);
+		System.out.println("Member search index rebuilt: " + rows.size() + " members");
+	}
+
+	// Revenue rollup behind the tax report endpoints: one row per day and
+	// category holding the sum of positive amounts and the number of tax rows,
+	// so the reports read O(days) rows. Triggers keep it in step inside the
+	// writing transaction, whichever path writes (JPA cascades, native inserts,
+	// bulk deletes). Like the old JOINs, taxes count only while their
+	// attendance row exists. Rebuilt here when new or out of step; dropping
+	// the table rebuilds it on the next start
+	private void ensureTaxDailySummary() {
+		Integer existing = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM sqlite_master WHERE type = 'table' AND name = 'tax_daily_summary'", Integer.class);
+		jdbcTemplate.execute("""
+				CREATE TABLE IF NOT EXISTS tax_daily_summary (
+				    date_of_day varchar(255) not null,
+				    category_id integer not null,
+				    total_amount integer not null,
+				    tax_count integer not null,
+				    primary key (date_of_day, category_id)
+				) WITHOUT ROWID
+				""");
+
+		String add = """
+				INSERT INTO tax_daily_summary (date_of_day, category_id, total_amount, tax_count)
+				SELECT a.date_of_day, a.category_id, MAX(%1$s.amount, 0), 1
+				FROM attendance a WHERE a.id = %1$s.attendance_id
+				ON CONFLICT (date_of_day, category_id) DO UPDATE SET
+				    total_amount = total_amount + excluded.total_amount, tax_count = tax_count + 1;
+				""";
+		String subtract = """
+				UPDATE tax_daily_summary SET total_amount = total_amount - MAX(OLD.amount, 0), tax_count = tax_count - 1
+				WHERE (date_of_day, category_id) = (SELECT a.date_of_day, a.category_id FROM attendance a
+				                                    WHERE a.id = OLD.attendance_id);
+				DELETE FROM tax_daily_summary
+				WHERE (date_of_day, category_id) = (SELECT a.date_of_day, a.category_id FROM attendance a
+				                                    WHERE a.id = OLD.attendance_id)
+				  AND tax_count = 0;
+				""";
+		// An attendance row's taxes leave (or move) with it
+		String taxesOf = """
+				UPDATE tax_daily_summary
+				SET total_amount = total_amount - (SELECT COALESCE(SUM(MAX(t.amount, 0)), 0) FROM taxes t WHERE t.attendance_id = OLD.id),
+				    tax_count = tax_count - (SELECT COUNT(*) FROM taxes t WHERE t.attendance_id = OLD.id)
+				WHERE date_of_day = OLD.date_of_day AND category_id = OLD.category_id;
+				DELETE FROM tax_daily_summary
+				WHERE date_of_day = OLD.date_of_day AND category_id = OLD.category_id AND tax_count = 0;
+				""";
+		jdbcTemplate.execute("CREATE TRIGGER IF NOT EXISTS tax_daily_summary_insert AFTER INSERT ON taxes BEGIN "
+				+ add.formatted("NEW") + " END");
+		jdbcTemplate.execute("CREATE TRIGGER IF NOT EXISTS tax_daily_summary_update "
+				+ "AFTER UPDATE OF amount, attendance_id ON taxes BEGIN " + subtract + add.formatted("NEW") + " END");
+		jdbcTemplate.execute("CREATE TRIGGER IF NOT EXISTS tax_daily_summary_delete AFTER DELETE ON taxes BEGIN "
+				+ subtract + " END");
+		jdbcTemplate.execute("CREATE TRIGGER IF NOT EXISTS tax_daily_summary_attendance_delete "
+				+ "BEFORE DELETE ON attendance BEGIN " + taxesOf + " END");
+		jdbcTemplate.execute("""
+				CREATE TRIGGER IF NOT EXISTS tax_daily_summary_attendance_move
+				AFTER UPDATE OF date_of_day, category_id ON attendance
+				WHEN OLD.date_of_day IS NOT NEW.date_of_day OR OLD.category_id IS NOT NEW.category_id
+				BEGIN
+				""" + taxesOf + """
+				INSERT INTO tax_daily_summary (date_of_day, category_id, total_amount, tax_count)
+				SELECT NEW.date_of_day, NEW.category_id, SUM(MAX(t.amount, 0)), COUNT(*)
+				FROM taxes t WHERE t.attendance_id = NEW.id
+				HAVING COUNT(*) > 0
+				ON CONFLICT (date_of_day, category_id) DO UPDATE SET
+				    total_amount = total_amount + excluded.total_amount, tax_count = tax_count + excluded.tax_count;
+				END
+				""");
+
+		String rollup = """
+				SELECT a.date_of_day, a.category_id, SUM(MAX(t.amount, 0)) AS total_amount, COUNT(*) AS tax_count
+				FROM taxes t JOIN attendance a ON a.id = t.attendance_id
+				GROUP BY a.date_of_day, a.category_id
+				""";
+		if (existing != null && existing > 0 && Objects.equals(
+				jdbcTemplate.queryForList("SELECT * FROM tax_daily_summary ORDER BY date_of_day, category_id"),
+				jdbcTemplate.queryForList("SELECT * FROM (" + rollup + ") ORDER BY date_of_day, category_id"))) {
+			return;
+		}
+		jdbcTemplate.update("DELETE FROM tax_daily_summary");
+		int days = jdbcTemplate.update(
+				"INSERT INTO tax_daily_summary (date_of_day, category_id, total_amount, tax_count) " + rollup);
+		System.out.println("Tax daily summary rebuilt: " + days + " day/category rows");
+	}
+
+	private boolean hasColumn(String table, String column) {
+		Integer count = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM pragma_table_info(?) WHERE name = ?", Integer.class, table, column);
+		return count != null && count > 0;
+	}
+
+	private boolean hasUniqueIndex(String table, List<String> columns) {
+		List<String> indexes = jdbcTemplate.queryForList(
+				"SELECT name FROM pragma_index_list(?) WHERE \"unique\" = 1", String.class, table);
+		for (String index : indexes) {
+			List<String> indexColumns = jdbcTemplate.queryForList(
+					"SELECT name FROM pragma_index_info(?) ORDER BY seqno", String.class, index);
+			if (indexColumns.equals(columns)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
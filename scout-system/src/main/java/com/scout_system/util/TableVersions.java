@@ -0,0 +1,110 @@
+package com.scout_system.util;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.WebRequest;
+
+import jakarta.persistence.Table;
+
+/**
+ * A version counter per table, bumped once a repository write commits, so
+ * the polled read endpoints can answer a matching If-None-Match with a 304
+ * before running any query. Writes are caught on the repository proxies:
+ * {@link Modifying} queries and save/delete/insert/update/mark methods.
+ *
+ * The ETag also carries the startup time (counters restart at zero) and the
+ * Cairo date, since the "today" endpoints change at midnight without a write.
+ * A reader takes the versions before querying, so an ETag never claims newer
+ * data than the body it came with.
+ */
+@Component
+public class TableVersions implements BeanPostProcessor {
+
+	private static final ZoneId CAIRO = ZoneId.of("Africa/Cairo");
+	private static final List<String> WRITE_PREFIXES = List.of("save", "delete", "insert", "update", "mark");
+
+	// A delete also removes the rows that reference it (ON DELETE CASCADE)
+	private static final Map<String, List<String>> DELETES = Map.of("members", List.of("members", "attendance", "taxes"),
+			"attendance", List.of("attendance", "taxes"));
+
+	private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+	private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+	// 304 when the client's copy is current, otherwise the body with its ETag
+	public <T> ResponseEntity<T> respond(WebRequest request, Supplier<T> body, String... tables) {
+		String etag = etag(tables);
+		if (request.checkNotModified(etag)) {
+			return null;
+		}
+		return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(body.get());
+	}
+
+	public String etag(String... tables) {
+		StringBuilder etag = new StringBuilder("\"").append(bootId).append('-').append(LocalDate.now(CAIRO));
+		for (String table : tables) {
+			etag.append('-').append(version(table).get());
+		}
+		return etag.append('"').toString();
+	}
+
+	@Override
+	public Object postProcessBeforeInitialization(Object bean, String beanName) {
+		if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+			repositoryFactoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+					(proxyFactory, repository) -> proxyFactory.addAdvice(bumpOnWrite(tableOf(repository.getDomainType())))));
+		}
+		return bean;
+	}
+
+	private MethodInterceptor bumpOnWrite(String table) {
+		return invocation -> {
+			Object result = invocation.proceed();
+			Method method = invocation.getMethod();
+			if (method.isAnnotationPresent(Modifying.class)
+					|| WRITE_PREFIXES.stream().anyMatch(method.getName()::startsWith)) {
+				bumpAfterCommit(method.getName().startsWith("delete")
+						? DELETES.getOrDefault(table, List.of(table))
+						: List.of(table));
+			}
+			return result;
+		};
+	}
+
+	private void bumpAfterCommit(List<String> tables) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			tables.forEach(table -> version(table).incrementAndGet());
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				tables.forEach(table -> version(table).incrementAndGet());
+			}
+		});
+	}
+
+	private AtomicLong version(String table) {
+		return versions.computeIfAbsent(table, name -> new AtomicLong());
+	}
+
+	private static String tableOf(Class<?> entity) {
+		Table table = entity.getAnnotation(Table.class);
+		return table != null && !table.name().isEmpty() ? table.name() : entity.getSimpleName().toLowerCase();
+	}
+}
@@ -0,0 +1,193 @@
+package com.scout_system.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * SQLite allows a single writer, so hot write paths (check-ins, tax updates,
+ * absent marks) are queued here and executed by one thread. Whatever is
+ * waiting when the writer wakes up is committed together in one transaction;
+ * if that group fails, its commands are replayed one by one so a bad command
+ * only fails its own caller.
+ */
+@Component
+public class WritePipeline {
+
+	private static final Logger log = LoggerFactory.getLogger(WritePipeline.class);
+
+	private final BlockingQueue<WriteCommand<?>> queue;
+	private final TransactionTemplate transactionTemplate;
+	private final int maxBatchSize;
+	private final long submitTimeoutMs;
+
+	private final DistributionSummary batchSize;
+	private final Timer commitLatency;
+	private final Counter rejected;
+
+	private volatile boolean running;
+	private Thread writer;
+
+	public WritePipeline(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+			@Value("${scout.write-pipeline.queue-capacity:256}") int queueCapacity,
+			@Value("${scout.write-pipeline.max-batch-size:32}") int maxBatchSize,
+			@Value("${scout.write-pipeline.submit-timeout-ms:2000}") long submitTimeoutMs) {
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.maxBatchSize = maxBatchSize;
+		this.submitTimeoutMs = submitTimeoutMs;
+
+		Gauge.builder("scout.write.queue.depth", queue, BlockingQueue::size)
+				.description("Write commands waiting for the SQLite writer").register(meterRegistry);
+		this.batchSize = DistributionSummary.builder("scout.write.batch.size")
+				.description("Commands committed per transaction").register(meterRegistry);
+		this.commitLatency = Timer.builder("scout.write.commit.latency")
+				.description("Time to execute and commit one group").publishPercentiles(0.5, 0.95, 0.99)
+				.register(meterRegistry);
+		this.rejected = Counter.builder("scout.write.rejected")
+				.description("Commands refused because the queue stayed full").register(meterRegistry);
+	}
+
+	@PostConstruct
+	public void start() {
+		running = true;
+		writer = new Thread(this::drain, "sqlite-writer");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		running = false;
+		writer.interrupt();
+		writer.join(TimeUnit.SECONDS.toMillis(10));
+	}
+
+	public <T> CompletableFuture<T> submit(String name, Supplier<T> command) {
+		WriteCommand<T> writeCommand = new WriteCommand<>(name, command);
+
+		// Already on the writer (a command submitting another): run inline
+		// instead of waiting on our own queue
+		if (Thread.currentThread() == writer) {
+			writeCommand.result = command.get();
+			writeCommand.complete();
+			return writeCommand.future;
+		}
+
+		if (!running) {
+			writeCommand.future.completeExceptionally(new RejectedExecutionException("Write pipeline is stopped"));
+			return writeCommand.future;
+		}
+
+		try {
+			if (!queue.offer(writeCommand, submitTimeoutMs, TimeUnit.MILLISECONDS)) {
+				rejected.increment();
+				writeCommand.future.completeExceptionally(
+						new RejectedExecutionException("Write queue is full, try again: " + name));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			writeCommand.future.completeExceptionally(e);
+		}
+		return writeCommand.future;
+	}
+
+	public CompletableFuture<Void> submit(String name, Runnable command) {
+		return submit(name, () -> {
+			command.run();
+			return null;
+		});
+	}
+
+	private void drain() {
+		List<WriteCommand<?>> group = new ArrayList<>(maxBatchSize);
+
+		// Keep going after stop() until everything already accepted is written
+		while (running || !queue.isEmpty()) {
+			try {
+				WriteCommand<?> first = queue.poll(500, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				group.add(first);
+				queue.drainTo(group, maxBatchSize - 1);
+			} catch (InterruptedException e) {
+				if (running) {
+					continue;
+				}
+				queue.drainTo(group);
+			}
+
+			if (!group.isEmpty()) {
+				commit(group);
+				group.clear();
+			}
+		}
+	}
+
+	private void commit(List<WriteCommand<?>> group) {
+		Timer.Sample sample = Timer.start();
+		try {
+			transactionTemplate.executeWithoutResult(status -> group.forEach(WriteCommand::execute));
+			batchSize.record(group.size());
+			group.forEach(WriteCommand::complete);
+		} catch (RuntimeException e) {
+			if (group.size() == 1) {
+				group.get(0).fail(e);
+			} else {
+				log.warn("Write group of {} failed ({}), replaying one by one", group.size(), e.getMessage());
+				for (WriteCommand<?> command : group) {
+					commit(List.of(command));
+				}
+			}
+		} finally {
+			sample.stop(commitLatency);
+		}
+	}
+
+	private static final class WriteCommand<T> {
+		final String name;
+		final Supplier<T> command;
+		final CompletableFuture<T> future = new CompletableFuture<>();
+		T result;
+
+		WriteCommand(String name, Supplier<T> command) {
+			this.name = name;
+			this.command = command;
+		}
+
+		void execute() {
+			result = command.get();
+		}
+
+		// Callers only see results of committed transactions
+		void complete() {
+			future.complete(result);
+		}
+
+		void fail(Throwable error) {
+			log.debug("Write command {} failed", name, error);
+			future.completeExceptionally(error);
+		}
+	}
+}
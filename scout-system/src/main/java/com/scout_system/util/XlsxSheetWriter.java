@@ -0,0 +1,164 @@
+package com.scout_system.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * A one-sheet XLSX workbook written straight into the zip stream: the fixed
+ * package parts first, then the sheet row by row with inline strings, so
+ * nothing is buffered but the deflater's window. The header row is bold and
+ * frozen, and dates are real date cells (yyyy-mm-dd) that sort and filter.
+ */
+final class XlsxSheetWriter implements ExportStreams.SheetWriter {
+
+	private static final String HEAD = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+	private static final String MAIN = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+	private static final String RELATIONSHIPS = "http://schemas.openxmlformats.org/package/2006/relationships";
+	private static final String DOCUMENT = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+	private static final String CONTENT_TYPES = HEAD
+			+ "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+			+ "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+			+ "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+			+ "<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+			+ "<Override PartName=\"/xl/worksheets/sheet1.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>"
+			+ "<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>"
+			+ "</Types>";
+	private static final String ROOT_RELS = HEAD + "<Relationships xmlns=\"" + RELATIONSHIPS + "\">"
+			+ "<Relationship Id=\"rId1\" Type=\"" + DOCUMENT + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+			+ "</Relationships>";
+	private static final String WORKBOOK = HEAD + "<workbook xmlns=\"" + MAIN + "\" xmlns:r=\"" + DOCUMENT + "\">"
+			+ "<sheets><sheet name=\"Export\" sheetId=\"1\" r:id=\"rId1\"/></sheets></workbook>";
+	private static final String WORKBOOK_RELS = HEAD + "<Relationships xmlns=\"" + RELATIONSHIPS + "\">"
+			+ "<Relationship Id=\"rId1\" Type=\"" + DOCUMENT + "/worksheet\" Target=\"worksheets/sheet1.xml\"/>"
+			+ "<Relationship Id=\"rId2\" Type=\"" + DOCUMENT + "/styles\" Target=\"styles.xml\"/>"
+			+ "</Relationships>";
+
+	// Cell styles: 0 default, 1 date, 2 bold header
+	private static final String STYLES = HEAD + "<styleSheet xmlns=\"" + MAIN + "\">"
+			+ "<numFmts count=\"1\"><numFmt numFmtId=\"164\" formatCode=\"yyyy-mm-dd\"/></numFmts>"
+			+ "<fonts count=\"2\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font>"
+			+ "<font><b/><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>"
+			+ "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill>"
+			+ "<fill><patternFill patternType=\"gray125\"/></fill></fills>"
+			+ "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>"
+			+ "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>"
+			+ "<cellXfs count=\"3\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>"
+			+ "<xf numFmtId=\"164\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>"
+			+ "<xf numFmtId=\"0\" fontId=\"1\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyFont=\"1\"/></cellXfs>"
+			+ "</styleSheet>";
+	private static final String SHEET_START = HEAD + "<worksheet xmlns=\"" + MAIN + "\">"
+			+ "<sheetViews><sheetView workbookViewId=\"0\">"
+			+ "<pane ySplit=\"1\" topLeftCell=\"A2\" activePane=\"bottomLeft\" state=\"frozen\"/>"
+			+ "</sheetView></sheetViews><sheetData>";
+	private static final String SHEET_END = "</sheetData></worksheet>";
+
+	// Spreadsheet day 0; serial numbers count days from here
+	private static final LocalDate EPOCH = LocalDate.of(1899, 12, 30);
+
+	private final ZipOutputStream zip;
+	private final Writer writer;
+	private int rowNumber;
+
+	XlsxSheetWriter(OutputStream out) {
+		this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+		this.writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+	}
+
+	@Override
+	public void header(List<String> columns) throws IOException {
+		part("[Content_Types].xml", CONTENT_TYPES);
+		part("_rels/.rels", ROOT_RELS);
+		part("xl/workbook.xml", WORKBOOK);
+		part("xl/_rels/workbook.xml.rels", WORKBOOK_RELS);
+		part("xl/styles.xml", STYLES);
+
+		zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+		writer.write(SHEET_START);
+		writeRow(columns.toArray(), 2);
+	}
+
+	@Override
+	public void row(Object[] cells) throws IOException {
+		writeRow(cells, 0);
+	}
+
+	private void writeRow(Object[] cells, int style) throws IOException {
+		rowNumber++;
+		writer.write("<row r=\"" + rowNumber + "\">");
+		for (int i = 0; i < cells.length; i++) {
+			Object value = cells[i];
+			if (value == null) {
+				continue;
+			}
+			String ref = column(i) + rowNumber;
+			if (value instanceof Number number) {
+				writer.write("<c r=\"" + ref + "\"><v>" + number + "</v></c>");
+			} else if (value instanceof LocalDate date) {
+				writer.write("<c r=\"" + ref + "\" s=\"1\"><v>" + ChronoUnit.DAYS.between(EPOCH, date) + "</v></c>");
+			} else {
+				writer.write("<c r=\"" + ref + "\" t=\"inlineStr\"" + (style != 0 ? " s=\"" + style + "\"" : "")
+						+ "><is><t xml:space=\"preserve\">");
+				writeEscaped(value.toString());
+				writer.write("</t></is></c>");
+			}
+		}
+		writer.write("</row>");
+	}
+
+	private void writeEscaped(String text) throws IOException {
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			switch (c) {
+			case '&' -> writer.write("&amp;");
+			case '<' -> writer.write("&lt;");
+			case '>' -> writer.write("&gt;");
+			default -> {
+				if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+					writer.write(c);
+				} // other control characters are not allowed in XML
+			}
+			}
+		}
+	}
+
+	// 0 -> A, 25 -> Z, 26 -> AA
+	private static String column(int index) {
+		StringBuilder letters = new StringBuilder();
+		for (int n = index + 1; n > 0; n = (n - 1) / 26) {
+			letters.insert(0, (char) ('A' + (n - 1) % 26));
+		}
+		return letters.toString();
+	}
+
+	private void part(String name, String content) throws IOException {
+		zip.putNextEntry(new ZipEntry(name));
+		writer.write(content);
+		writer.flush();
+		zip.closeEntry();
+	}
+
+	@Override
+	public void flush() throws IOException {
+		writer.flush();
+		zip.flush();
+	}
+
+	@Override
+	public void finish() throws IOException {
+		writer.write(SHEET_END);
+		writer.flush();
+		zip.closeEntry();
+		zip.finish(); // writes the zip directory; the container closes the stream
+		zip.flush();
+	}
+}
@@ -92,19 +92,16 @@ updateCurrentDate();
 // Update Statistics
 async function updateStatistics() {
     try {
-        const [totalResponse, upcomingResponse, completedResponse] = await Promise.all([
-            fetch(`${API_BASE_URL}/activities/totalActivity`),
-            fetch(`${API_BASE_URL}/activities/upComingActivity`),
-            fetch(`${API_BASE_URL}/activities/completedActivity`)
-        ]);
+        const response = await fetch(`${API_BASE_URL}/dashboard/summary`);
 
-        if (!totalResponse.ok || !upcomingResponse.ok || !completedResponse.ok) {
+        if (!response.ok) {
             throw new Error("Failed to fetch statistics");
         }
 
-        const total = await totalResponse.json();
-        const upcoming = await upcomingResponse.json();
-        const completed = await completedResponse.json();
+        const summary = await response.json();
+        const total = summary.totalActivities;
+        const upcoming = summary.upcomingEvents;
+        const completed = summary.completedActivities;
 
         document.getElementById("totalActivities").textContent = total;
         document.getElementById("upcomingActivities").textContent = upcoming;
@@ -556,7 +556,7 @@ function openQr() {
 
     qrOverlay.classList.add('active');
     document.body.style.overflow = 'hidden';
-    stopIntervals();
+    pauseLiveUpdates();
 }
 
 function closeQr() {
@@ -575,7 +575,7 @@ function closeQr() {
         qrCode2 = null;
     }, 300);
 
-    startIntervals();
+    resumeLiveUpdates();
 }
 
 const showQrBtn = document.getElementById('showQrBtn');
@@ -683,42 +683,70 @@ signOutBtn.addEventListener('click', async function (e) {
     }
 });
 
-// Interval Management
-const REFRESH_INTERVAL = 5000;
-let autoRefreshInterval = null;
+// Live Updates
+// The server pushes an event whenever a check-in, absent marking or tax
+// update commits; the records are re-rendered then instead of every 5 seconds.
+// Paused while an amount is being typed or the QR overlay is open.
+const FALLBACK_REFRESH_INTERVAL = 5000;
+let liveUpdatesPaused = true;
+let missedUpdate = false;
+let renderTimer = null;
+let fallbackInterval = null;
+
+function connectLiveUpdates() {
+    if (!window.EventSource) {
+        fallbackInterval = setInterval(onAttendanceChange, FALLBACK_REFRESH_INTERVAL);
+        return;
+    }
+    const stream = new EventSource(`${API_BASE_URL}/attendance/stream`);
+    let connected = false;
+    // Sent on every (re)connect; after a reconnect, catch up on what was missed
+    stream.addEventListener('snapshot', () => {
+        if (connected) onAttendanceChange();
+        connected = true;
+    });
+    ['checkIn', 'checkInBatch', 'absentMarked', 'taxUpdated'].forEach(type =>
+        stream.addEventListener(type, onAttendanceChange));
+}
 
-function startIntervals() {
-    stopIntervals();
-    autoRefreshInterval = setInterval(() => {
-        renderRecords();
-    }, REFRESH_INTERVAL);
+function onAttendanceChange() {
+    if (liveUpdatesPaused) {
+        missedUpdate = true;
+        return;
+    }
+    clearTimeout(renderTimer);
+    renderTimer = setTimeout(renderRecords, 300);
 }
 
-function stopIntervals() {
-    if (autoRefreshInterval) {
-        clearInterval(autoRefreshInterval);
-        autoRefreshInterval = null;
+function resumeLiveUpdates() {
+    liveUpdatesPaused = false;
+    if (missedUpdate) {
+        missedUpdate = false;
+        onAttendanceChange();
     }
 }
 
+function pauseLiveUpdates() {
+    liveUpdatesPaused = true;
+}
+
 document.addEventListener('focusin', (e) => {
     if (e.target.tagName === 'INPUT') {
-        stopIntervals();
+        pauseLiveUpdates();
     }
 });
 
 document.addEventListener('focusout', (e) => {
     if (e.target.tagName === 'INPUT') {
-        startIntervals();
+        resumeLiveUpdates();
     }
 });
 
 document.addEventListener('visibilitychange', () => {
     if (document.hidden) {
-        stopIntervals();
+        pauseLiveUpdates();
     } else {
-        renderRecords();
-        startIntervals();
+        resumeLiveUpdates();
     }
 });
 
@@ -893,7 +921,8 @@ async function initializeApp() {
     setInterval(updateDateTime, 1000);
 
     await renderRecords();
-    startIntervals();
+    connectLiveUpdates();
+    resumeLiveUpdates();
 
     if (api.isOnline) {
         showToast('System initialized successfully!', 'success');
@@ -78,9 +78,14 @@ async function loadUserProfilePhoto() {
 // API Endpoints for Categories
 const API_ENDPOINTS = {
     ALL_TODAY: '/attendance/allAttendancePerToday',
-    SCOUTS_GUIDES: '/attendance/scouts-and-guides',
-    CUBS_BLOSSOMS: '/attendance/cubs-and-blossoms',
-    BUDS: '/attendance/buds'
+    BY_CATEGORY: '/attendance/today/byCategory'
+};
+
+// Category names as the backend groups today's rows
+const CATEGORY_NAMES = {
+    'scouts-and-guides': 'Scouts and Guides',
+    'cubs-and-blossoms': 'Cubs and Blossoms',
+    'buds': 'Buds'
 };
 
 // Fetch Today's Attendance from Backend
@@ -337,33 +342,20 @@ exportBudsBtn.addEventListener('click', async () => {
 
 // Fetch Category Data
 async function fetchCategoryData(category) {
-    try {
-        let endpoint;
-        switch (category) {
-            case 'scouts-and-guides':
-                endpoint = API_ENDPOINTS.SCOUTS_GUIDES;
-                break;
-            case 'cubs-and-blossoms':
-                endpoint = API_ENDPOINTS.CUBS_BLOSSOMS;
-                break;
-            case 'buds':
-                endpoint = API_ENDPOINTS.BUDS;
-                break;
-            default:
-                throw new Error('Invalid category');
-        }
-
-        const response = await fetch(`${API_BASE_URL}${endpoint}`);
+    const name = CATEGORY_NAMES[category];
+    if (!name) {
+        throw new Error('Invalid category');
+    }
 
-        if (!response.ok) {
-            throw new Error('Failed to fetch category data');
-        }
+    // One request groups every category; repeat exports revalidate with a 304
+    const response = await fetch(`${API_BASE_URL}${API_ENDPOINTS.BY_CATEGORY}`);
 
-        const data = await response.json();
-        return data;
-    } catch (error) {
-        throw error;
+    if (!response.ok) {
+        throw new Error('Failed to fetch category data');
     }
+
+    const data = await response.json();
+    return data[name] || [];
 }
 
 // Export Category PDF
@@ -855,7 +847,27 @@ function animateTableRows() {
     });
 }
 
-// Auto-refresh
-setInterval(() => {
-    fetchTodayAttendance();
-}, 10 * 1000); // Every 10 seconds
\ No newline at end of file
+// Live updates: refetch when the server reports a committed check-in, absent
+// marking or tax update, instead of every 10 seconds
+let refreshTimer = null;
+
+function scheduleRefresh() {
+    clearTimeout(refreshTimer);
+    refreshTimer = setTimeout(fetchTodayAttendance, 300);
+}
+
+if (window.EventSource) {
+    const attendanceStream = new EventSource(`${API_BASE_URL}/attendance/stream`);
+    let streamConnected = false;
+    // Sent on every (re)connect; after a reconnect, catch up on what was missed
+    attendanceStream.addEventListener('snapshot', () => {
+        if (streamConnected) scheduleRefresh();
+        streamConnected = true;
+    });
+    ['checkIn', 'checkInBatch', 'absentMarked', 'taxUpdated'].forEach(type =>
+        attendanceStream.addEventListener(type, scheduleRefresh));
+} else {
+    setInterval(() => {
+        fetchTodayAttendance();
+    }, 10 * 1000); // Every 10 seconds
+}
\ No newline at end of file
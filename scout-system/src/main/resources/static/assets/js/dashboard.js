@@ -253,33 +253,20 @@ async function fetchDashboardData() {
     try {
         showLoadingState();
         
-        const [totalScoutsResponse, presentTodayResponse, absentTodayResponse, upcomingEventsResponse] = await Promise.all([
-            fetch(`${API_BASE_URL}/members/getCountAllMember`),
-            fetch(`${API_BASE_URL}/attendance/presentToday`),
-            fetch(`${API_BASE_URL}/attendance/absentToday`),
-            fetch(`${API_BASE_URL}/activities/upComingActivity`)
-        ]);
+        // One request for all counters; the browser revalidates it with the ETag
+        const response = await fetch(`${API_BASE_URL}/dashboard/summary`);
         
-        if (!totalScoutsResponse.ok) {
-            throw new Error('Failed to fetch total scouts');
-        }
-        if (!presentTodayResponse.ok) {
-            throw new Error('Failed to fetch present attendance');
-        }
-        if (!absentTodayResponse.ok) {
-            throw new Error('Failed to fetch absent attendance');
+        if (!response.ok) {
+            throw new Error('Failed to fetch dashboard summary');
         }
         
-        const totalScouts = await totalScoutsResponse.json();
-        const presentToday = await presentTodayResponse.json();
-        const absentToday = await absentTodayResponse.json();
-        const upcomingEvents = upcomingEventsResponse.ok ? await upcomingEventsResponse.json() : 0;
+        const summary = await response.json();
         
         const data = {
-            totalScouts: totalScouts || 0,
-            presentToday: presentToday || 0,
-            absentToday: absentToday || 0,
-            upcomingEvents: upcomingEvents || 0
+            totalScouts: summary.totalScouts || 0,
+            presentToday: summary.presentToday || 0,
+            absentToday: summary.absentToday || 0,
+            upcomingEvents: summary.upcomingEvents || 0
         };
         
         updateDashboardStats(data);
@@ -132,61 +132,68 @@ function setupPhoneValidation(input, errorDiv = null) {
 }
 
 
-// Search Functionality
+// Search Functionality: typeahead on /members/search (full-text, with Arabic
+// spelling variants folded by the server); clearing it shows the list again
+let searchTimer = null;
+let searchRequest = 0;
+
 searchInput.addEventListener('input', (e) => {
-    const searchTerm = e.target.value.toLowerCase().trim();
-    const rows = document.querySelectorAll('#membersTableBody tr');
+    const searchTerm = e.target.value.trim();
+    clearTimeout(searchTimer);
 
-    let visibleCount = 0;
+    if (searchTerm === '') {
+        searchRequest++;
+        displayMembers(allMembersData);
+        return;
+    }
+    searchTimer = setTimeout(() => searchMembers(searchTerm), 150);
+});
 
-    rows.forEach(row => {
-        if (row.cells.length < 3) {
-            return;
-        }
+async function searchMembers(searchTerm) {
+    const request = ++searchRequest;
+    try {
+        const response = await fetch(`${API_BASE_URL}/members/search?${new URLSearchParams({ q: searchTerm })}`);
 
-        const code = row.cells[0]?.textContent.toLowerCase() || '';
-        const name = row.cells[1]?.textContent.toLowerCase() || '';
+        if (!response.ok) {
+            throw new Error('Search failed');
+        }
 
-        if (code.includes(searchTerm) || name.includes(searchTerm)) {
-            row.style.display = '';
-            visibleCount++;
-        } else {
-            row.style.display = 'none';
+        const members = await response.json();
+        if (request !== searchRequest) {
+            return; // superseded by a newer search or a clear
         }
-    });
 
-    if (visibleCount === 0 && searchTerm !== '' && rows.length > 0) {
-        const tbody = document.getElementById('membersTableBody');
-        const existingNoResults = tbody.querySelector('.no-results-row');
-
-        if (!existingNoResults) {
-            const noResultsRow = document.createElement('tr');
-            noResultsRow.className = 'no-results-row';
-            noResultsRow.innerHTML = `
-                <td colspan="3" class="text-center text-muted py-4">
-                    <i class="bi bi-search me-2"></i>
-                    No members found matching "${searchTerm}"
-                </td>
+        if (members.length === 0) {
+            membersTableBody.innerHTML = `
+                <tr class="no-results-row">
+                    <td colspan="3" class="text-center text-muted py-4">
+                        <i class="bi bi-search me-2"></i>
+                        No members found matching "${searchTerm}"
+                    </td>
+                </tr>
             `;
-            tbody.appendChild(noResultsRow);
+            return;
         }
-    } else {
-        const noResultsRow = document.querySelector('.no-results-row');
-        if (noResultsRow) {
-            noResultsRow.remove();
+        membersTableBody.innerHTML = members.map(memberRow).join('');
+    } catch (error) {
+        if (request === searchRequest) {
+            membersTableBody.innerHTML = `
+                <tr>
+                    <td colspan="3" class="text-danger text-center py-4">
+                        ❌ Search failed. Please try again.
+                    </td>
+                </tr>
+            `;
         }
     }
-});
+}
 
 function clearSearch() {
-    searchInput.value = '';
-    const rows = document.querySelectorAll('#membersTableBody tr');
-    rows.forEach(row => {
-        row.style.display = '';
-    });
-    const noResultsRow = document.querySelector('.no-results-row');
-    if (noResultsRow) {
-        noResultsRow.remove();
+    clearTimeout(searchTimer);
+    if (searchInput.value !== '') {
+        searchInput.value = '';
+        searchRequest++;
+        displayMembers(allMembersData);
     }
 }
 
@@ -1327,16 +1334,38 @@ const profilePhone = document.getElementById('profilePhone');
 const profileAddress = document.getElementById('profileAddress');
 const profileCategory = document.getElementById('profileCategory');
 
+// Member list: one keyset page at a time from /members/page, the next one
+// when the table is scrolled near its end
+const MEMBERS_PAGE_SIZE = 50;
+let allMembersData = [];
+let membersCursor = null;
+let membersLoading = null;
+let membersGeneration = 0;
+
+async function fetchMembersPage(cursor) {
+    const params = new URLSearchParams({ sort: 'code', limit: MEMBERS_PAGE_SIZE });
+    if (cursor) {
+        params.set('cursor', cursor);
+    }
+    const response = await fetch(`${API_BASE_URL}/members/page?${params}`);
+
+    if (!response.ok) {
+        throw new Error('Failed to fetch members');
+    }
+
+    return response.json();
+}
+
 async function loadAllMembers() {
+    const generation = ++membersGeneration;
+    membersLoading = null;
     try {
-        const response = await fetch('http://localhost:9090/members/allMembers');
+        const page = await fetchMembersPage(null);
+        if (generation !== membersGeneration) return;
 
-        if (!response.ok) {
-            throw new Error('Failed to fetch members');
-        }
-
-        const members = await response.json();
-        displayMembers(members);
+        allMembersData = page.members;
+        membersCursor = page.nextCursor;
+        displayMembers(allMembersData);
     } catch (error) {
         membersTableBody.innerHTML = `
             <tr>
@@ -1348,11 +1377,46 @@ async function loadAllMembers() {
     }
 }
 
-let allMembersData = [];
+function loadMoreMembers() {
+    if (!membersCursor) {
+        return Promise.resolve();
+    }
+    if (!membersLoading) {
+        const generation = membersGeneration;
+        membersLoading = fetchMembersPage(membersCursor)
+            .then(page => {
+                if (generation !== membersGeneration) return;
+                allMembersData = allMembersData.concat(page.members);
+                membersCursor = page.nextCursor;
+                if (searchInput.value.trim() === '') {
+                    membersTableBody.insertAdjacentHTML('beforeend', page.members.map(memberRow).join(''));
+                }
+            })
+            .finally(() => {
+                membersLoading = null;
+            });
+    }
+    return membersLoading;
+}
 
-function displayMembers(members) {
-    allMembersData = members;
+// The PDF export covers every member, not just the pages shown
+async function loadRemainingMembers() {
+    while (membersCursor) {
+        await loadMoreMembers();
+    }
+}
 
+document.getElementById('showAllContent').addEventListener('scroll', (e) => {
+    const section = e.currentTarget;
+    if (searchInput.value.trim() !== '') {
+        return; // search results are not paged
+    }
+    if (section.scrollTop + section.clientHeight >= section.scrollHeight - 100) {
+        loadMoreMembers().catch(() => { });
+    }
+});
+
+function displayMembers(members) {
     if (members.length === 0) {
         membersTableBody.innerHTML = `
             <tr>
@@ -1365,7 +1429,13 @@ function displayMembers(members) {
         return;
     }
 
-    membersTableBody.innerHTML = members.map(member => `
+    membersTableBody.innerHTML = members.map(memberRow).join('');
+
+    document.getElementById('exportPdfBtn')?.classList.remove('d-none');
+}
+
+function memberRow(member) {
+    return `
         <tr class="align-middle">
             <td class="text-secondary">${member.code}</td>
             <td class="fw-medium">${member.fullName}</td>
@@ -1377,21 +1447,16 @@ function displayMembers(members) {
                 </button>
             </td>
         </tr>
-    `).join('');
-
-    attachProfileButtonListeners();
-
-    document.getElementById('exportPdfBtn')?.classList.remove('d-none');
+    `;
 }
 
-function attachProfileButtonListeners() {
-    document.querySelectorAll('.profile-btn').forEach(btn => {
-        btn.addEventListener('click', async () => {
-            const code = btn.getAttribute('data-code');
-            await loadMemberProfile(code);
-        });
-    });
-}
+// Rows are added page by page, so profile clicks are handled on the table body
+membersTableBody.addEventListener('click', async (e) => {
+    const btn = e.target.closest('.profile-btn');
+    if (btn) {
+        await loadMemberProfile(btn.getAttribute('data-code'));
+    }
+});
 
 async function loadMemberProfile(code) {
     try {
@@ -1518,6 +1583,8 @@ async function generatePDF() {
 
     const tableBody = [];
 
+    await loadRemainingMembers();
+
     if (!allMembersData || allMembersData.length === 0) {
         throw new Error('No members found to export');
     }
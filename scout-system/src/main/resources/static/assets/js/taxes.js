@@ -7,12 +7,17 @@ const API_CONFIG = {
         TOTAL_REVENUE: '/taxes/totalRevenue',
         CURRENT_MONTH: '/taxes/currentMonthTotal',
         TOTAL_TRANSACTIONS: '/taxes/totalTransactions',
-        SCOUTS_GUIDES_TODAY: '/taxes/today/scoutsAndGuides',
-        CUBS_BLOSSOMS_TODAY: '/taxes/today/cubsAndBlossoms',
-        BUDS_TODAY: '/taxes/today/buds'
+        TODAY_BY_CATEGORY: '/taxes/today/byCategory'
     }
 };
 
+// Category names as the backend groups today's rows
+const CATEGORY_NAMES = {
+    scoutsAndGuides: 'Scouts and Guides',
+    cubsAndBlossoms: 'Cubs and Blossoms',
+    buds: 'Buds'
+};
+
 // Authentication Check
 window.addEventListener('DOMContentLoaded', () => {
     const loggedInUser = localStorage.getItem('loggedInUser');
@@ -667,28 +672,14 @@ exportBudsBtn.addEventListener('click', async () => {
 
 // Fetch Category Data
 async function fetchCategoryData(category) {
-    try {
-        let endpoint;
-        switch(category) {
-            case 'scoutsAndGuides':
-                endpoint = API_CONFIG.ENDPOINTS.SCOUTS_GUIDES_TODAY;
-                break;
-            case 'cubsAndBlossoms':
-                endpoint = API_CONFIG.ENDPOINTS.CUBS_BLOSSOMS_TODAY;
-                break;
-            case 'buds':
-                endpoint = API_CONFIG.ENDPOINTS.BUDS_TODAY;
-                break;
-            default:
-                throw new Error('Invalid category');
-        }
-
-        const response = await apiRequest(endpoint);
-        
-        return response;
-    } catch (error) {
-        throw error;
+    const name = CATEGORY_NAMES[category];
+    if (!name) {
+        throw new Error('Invalid category');
     }
+
+    // One request groups every category; repeat exports revalidate with a 304
+    const response = await apiRequest(API_CONFIG.ENDPOINTS.TODAY_BY_CATEGORY);
+    return response[name] || [];
 }
 
 // Generate Category PDF
@@ -0,0 +1,168 @@
+package com.scout_system.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.TextStyle;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scout_system.controller.AttendanceController;
+import com.scout_system.controller.TaxController;
+import com.scout_system.model.Category;
+import com.scout_system.service.CategoryRegistry;
+import com.scout_system.util.CheckInTimes;
+
+/**
+ * The attendance and tax lists are built as records by their queries. Each
+ * endpoint that sends one is read over a small day (a paying member, a late
+ * one, an absent one) and its JSON compared field by field with what the page
+ * scripts expect. Registers are closed so the Absent row is listed.
+ */
+@SpringBootTest
+class RowProjectionJsonTest {
+
+	private static final LocalDate TODAY = LocalDate.now(CheckInTimes.CAIRO);
+
+	@Autowired
+	private AttendanceController attendanceController;
+
+	@Autowired
+	private TaxController taxController;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private long paid;
+	private long late;
+	private long absent;
+	private long lateTax;
+	private final Map<Category, LocalTime> absentAt = new HashMap<>();
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) throws IOException {
+		Path dir = Files.createTempDirectory("row-projection");
+		registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + dir.resolve("scout-system.db"));
+	}
+
+	@BeforeEach
+	void seed() {
+		CategoryRegistry.all().forEach(category -> {
+			absentAt.put(category, category.getAbsentAt());
+			category.setAbsentAt(LocalTime.MIN);
+		});
+		jdbcTemplate.update("DELETE FROM taxes");
+		jdbcTemplate.update("DELETE FROM attendance");
+		jdbcTemplate.update("DELETE FROM members");
+		jdbcTemplate.update("""
+				INSERT INTO members (code, full_name, title, date_of_birth, phone, address, is_sent)
+				VALUES ('T001', 'Paid', 'Scout', '2010-01-01', '0100', 'Cairo', 0),
+				       ('T002', 'Late', 'Scout', '2010-01-01', '0100', 'Cairo', 0),
+				       ('T003', 'Away', 'Scout', '2010-01-01', '0100', 'Cairo', 0)
+				""");
+		paid = attend("T001", "Present", CheckInTimes.toEpochMillis(TODAY.atTime(10, 15, 30)));
+		late = attend("T002", "Present", CheckInTimes.toEpochMillis(TODAY.atTime(10, 40, 5)));
+		absent = attend("T003", "Absent", null);
+		tax(paid, 20);
+		lateTax = tax(late, -1);
+	}
+
+	@AfterEach
+	void restoreRegisterTimes() {
+		absentAt.forEach(Category::setAbsentAt);
+	}
+
+	@Test
+	void todayAttendance() throws IOException {
+		assertJson("""
+				[ {"id": %d, "memberCode": "T002", "fullName": "Late", "category": "Buds", "status": "Present",
+				   "checkInTime": "10:40:05 AM", "dateOfDay": "%s"},
+				  {"id": %d, "memberCode": "T001", "fullName": "Paid", "category": "Buds", "status": "Present",
+				   "checkInTime": "10:15:30 AM", "dateOfDay": "%s"},
+				  {"id": %d, "memberCode": "T003", "fullName": "Away", "category": "Buds", "status": "Absent",
+				   "checkInTime": "—", "dateOfDay": "%s"} ]
+				""".formatted(late, TODAY, paid, TODAY, absent, TODAY),
+				attendanceController.getAllAttendancePerToday(request()));
+	}
+
+	@Test
+	void categoryAttendance() throws IOException {
+		assertJson("""
+				{"Buds": [ {"date": "%s", "code": "T002", "name": "Late", "category": "Buds", "status": "Present"},
+				           {"date": "%s", "code": "T001", "name": "Paid", "category": "Buds", "status": "Present"},
+				           {"date": "%s", "code": "T003", "name": "Away", "category": "Buds", "status": "Absent"} ]}
+				""".formatted(TODAY, TODAY, TODAY),
+				attendanceController.getTodayByCategory("Buds", request()));
+	}
+
+	@Test
+	void lateMember() throws IOException {
+		assertJson("""
+				[ {"id": %d, "code": "T002", "fullName": "Late", "category": "Buds", "dateOfDay": "%s",
+				   "checkInTime": "10:40:05 AM"} ]
+				""".formatted(lateTax, TODAY),
+				attendanceController.getLateMembersToday(request()));
+	}
+
+	@Test
+	void taxedAttendance() throws IOException {
+		assertJson("""
+				{"Buds": [ {"memberCode": "T001", "memberName": "Paid", "category": "Buds", "date": "%s",
+				            "day": "%s", "amount": 20} ]}
+				""".formatted(TODAY, TODAY.getDayOfWeek().getDisplayName(TextStyle.FULL, Locale.ENGLISH)),
+				taxController.getTodaysAttendanceByCategory("Buds", request()));
+	}
+
+	@Test
+	void updatedTax() throws IOException {
+		assertJson("""
+				[ {"code": "T001", "fullName": "Paid", "category": "Buds", "dateOfDay": "%s",
+				   "checkInTime": "10:15:30 AM", "amount": 20} ]
+				""".formatted(TODAY),
+				taxController.getMembersWithUpdatedTax(request()));
+	}
+
+	private void assertJson(String expected, ResponseEntity<?> response) throws IOException {
+		assertEquals(objectMapper.readTree(expected),
+				objectMapper.readTree(objectMapper.writeValueAsString(response.getBody())));
+	}
+
+	private long attend(String memberCode, String status, Long checkInAt) {
+		return jdbcTemplate.queryForObject("""
+				INSERT INTO attendance (member_code, category_id, check_in_at, date_of_day, status)
+				VALUES (?, ?, ?, ?, ?) RETURNING id
+				""", Long.class, memberCode, CategoryRegistry.find("Buds").getId(), checkInAt, TODAY.toString(),
+				status);
+	}
+
+	private long tax(long attendanceId, int amount) {
+		return jdbcTemplate.queryForObject("INSERT INTO taxes (attendance_id, amount) VALUES (?, ?) RETURNING id",
+				Long.class, attendanceId, amount);
+	}
+
+	private static WebRequest request() {
+		return new ServletWebRequest(new MockHttpServletRequest());
+	}
+}
@@ -0,0 +1,250 @@
+package com.scout_system.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Rush-hour check-in load test. Starts the app on a throwaway SQLite file,
+ * seeds a roster, and lets N gate scanners run the qr-checkin.html sequence
+ * for every arrival: getMember, checkAttendance, attend, stats poll. Some
+ * badges are scanned twice, as happens at the gate.
+ *
+ * Not part of the normal build:
+ * mvn -P load-test test -Dload.scanners=8 -Dload.roster=400 -Dload.rescanRate=0.1
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+class CheckInLoadTest {
+
+	private static final int SCANNERS = Integer.getInteger("load.scanners", 8);
+	private static final int ROSTER = Integer.getInteger("load.roster", 400);
+	private static final int MAX_SECONDS = Integer.getInteger("load.seconds", 300);
+	private static final double RESCAN_RATE = Double.parseDouble(System.getProperty("load.rescanRate", "0.1"));
+
+	private static final String[] CATEGORIES = { "Scouts and Guides", "Cubs and Blossoms", "Buds" };
+	private static final List<String> STEPS = List.of("getMember", "checkAttendance", "attend", "stats", "scan");
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+	private final Map<String, Queue<Long>> latencies = new ConcurrentHashMap<>();
+	private final Map<String, AtomicInteger> admitted = new ConcurrentHashMap<>();
+	private final AtomicInteger requests = new AtomicInteger();
+	private final AtomicInteger serverErrors = new AtomicInteger();
+	private final AtomicInteger busyErrors = new AtomicInteger();
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) throws IOException {
+		Path dir = Files.createTempDirectory("load-test");
+		registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + dir.resolve("scout-system.db"));
+	}
+
+	@Test
+	void rushHourCheckIn() throws Exception {
+		Queue<Arrival> gate = new ConcurrentLinkedQueue<>(seedRoster());
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(MAX_SECONDS);
+
+		ExecutorService scanners = Executors.newFixedThreadPool(SCANNERS);
+		long start = System.nanoTime();
+		List<Future<Integer>> running = new ArrayList<>();
+		for (int i = 0; i < SCANNERS; i++) {
+			running.add(scanners.submit(() -> scan(gate, deadline)));
+		}
+		int scans = 0;
+		for (Future<Integer> scanner : running) {
+			scans += scanner.get();
+		}
+		long elapsed = System.nanoTime() - start;
+		scanners.shutdown();
+
+		Integer duplicateRows = jdbcTemplate.queryForObject("""
+				SELECT COUNT(*) FROM (
+				    SELECT 1 FROM attendance
+				    GROUP BY member_code, date_of_day, category_id
+				    HAVING COUNT(*) > 1)
+				""", Integer.class);
+		long doubleAdmits = admitted.values().stream().filter(count -> count.get() > 1).count();
+
+		report(scans, elapsed, duplicateRows, doubleAdmits);
+
+		assertEquals(0, duplicateRows, "attendance rows duplicated for the same member, day and category");
+		assertEquals(0, doubleAdmits, "the same scan was admitted more than once");
+	}
+
+	// Members spread over the three categories, some in two, one in 25 a
+	// scout leader; every (member, category) is one arrival at the gate
+	private List<Arrival> seedRoster() {
+		Random random = new Random(42);
+		List<Object[]> members = new ArrayList<>();
+		List<Object[]> memberCategories = new ArrayList<>();
+		List<Arrival> arrivals = new ArrayList<>();
+
+		for (int i = 0; i < ROSTER; i++) {
+			String code = String.format("%06d", 100000 + i);
+			String title = i % 25 == 0 ? "Scout Leader" : "Scout";
+			members.add(new Object[] { code, "Load member " + i, title, "2012-01-01", "0100000" + i, "Gate" });
+
+			int first = random.nextInt(CATEGORIES.length);
+			List<Integer> categories = new ArrayList<>(List.of(first));
+			if (random.nextDouble() < 0.15) {
+				categories.add((first + 1) % CATEGORIES.length);
+			}
+			for (int category : categories) {
+				memberCategories.add(new Object[] { code, category + 1 });
+				arrivals.add(new Arrival(code, CATEGORIES[category]));
+				if (random.nextDouble() < RESCAN_RATE) {
+					arrivals.add(new Arrival(code, CATEGORIES[category]));
+				}
+			}
+		}
+
+		jdbcTemplate.batchUpdate("""
+				INSERT INTO members (code, full_name, title, date_of_birth, phone, address, is_sent)
+				VALUES (?, ?, ?, ?, ?, ?, 0)
+				""", members);
+		jdbcTemplate.batchUpdate("INSERT INTO member_categories (member_code, category_id) VALUES (?, ?)",
+				memberCategories);
+
+		Collections.shuffle(arrivals, random);
+		return arrivals;
+	}
+
+	private int scan(Queue<Arrival> gate, long deadline) {
+		int scans = 0;
+		Arrival arrival;
+		while (System.nanoTime() < deadline && (arrival = gate.poll()) != null) {
+			long start = System.nanoTime();
+			String category = URLEncoder.encode(arrival.category(), StandardCharsets.UTF_8).replace("+", "%20");
+
+			call("getMember", get("/members/member/" + arrival.code()));
+			HttpResponse<String> check = call("checkAttendance",
+					get("/members/checkAttendance/" + arrival.code() + "/" + category));
+
+			if (check != null && !check.body().contains("true")) {
+				String body = "{\"code\":\"" + arrival.code() + "\",\"category\":\"" + arrival.category() + "\"}";
+				HttpResponse<String> attend = call("attend", request("/attendance/attend")
+						.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(body)));
+				if (attend != null && attend.statusCode() == 200) {
+					admitted.computeIfAbsent(arrival.code() + '/' + arrival.category(), key -> new AtomicInteger())
+							.incrementAndGet();
+				}
+			}
+
+			call("stats", get("/attendance/lateToday"));
+			record("scan", System.nanoTime() - start);
+			scans++;
+		}
+		return scans;
+	}
+
+	private HttpResponse<String> call(String step, HttpRequest.Builder request) {
+		long start = System.nanoTime();
+		requests.incrementAndGet();
+		try {
+			HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+			if (response.statusCode() >= 500) {
+				serverErrors.incrementAndGet();
+				if (response.body().contains("SQLITE_BUSY") || response.body().contains("database is locked")) {
+					busyErrors.incrementAndGet();
+				}
+			}
+			return response;
+		} catch (IOException e) {
+			serverErrors.incrementAndGet();
+			return null;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		} finally {
+			record(step, System.nanoTime() - start);
+		}
+	}
+
+	private HttpRequest.Builder get(String path) {
+		return request(path).GET();
+	}
+
+	private HttpRequest.Builder request(String path) {
+		return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).timeout(Duration.ofSeconds(30));
+	}
+
+	private void record(String step, long nanos) {
+		latencies.computeIfAbsent(step, key -> new ConcurrentLinkedQueue<>()).add(nanos);
+	}
+
+	private void report(int scans, long elapsedNanos, long duplicateRows, long doubleAdmits) {
+		double seconds = elapsedNanos / 1e9;
+		StringBuilder out = new StringBuilder();
+		out.append(String.format("%nCheck-in load test: %d scanners, %d members, %d scans in %.1f s%n", SCANNERS,
+				ROSTER, scans, seconds));
+		out.append(String.format("%-16s %8s %9s %9s %9s %9s%n", "step", "count", "p50 ms", "p95 ms", "p99 ms",
+				"max ms"));
+
+		Map<String, long[]> sorted = new LinkedHashMap<>();
+		for (String step : STEPS) {
+			long[] values = latencies.getOrDefault(step, new ConcurrentLinkedQueue<>()).stream()
+					.mapToLong(Long::longValue).sorted().toArray();
+			sorted.put(step, values);
+		}
+		sorted.forEach((step, values) -> out.append(String.format("%-16s %8d %9.1f %9.1f %9.1f %9.1f%n", step,
+				values.length, percentile(values, 50), percentile(values, 95), percentile(values, 99),
+				percentile(values, 100))));
+
+		out.append(String.format("throughput: %.1f scans/s, %.1f requests/s%n", scans / seconds,
+				requests.get() / seconds));
+		out.append(String.format("5xx/IO errors: %d (SQLITE_BUSY / locked: %d)%n", serverErrors.get(),
+				busyErrors.get()));
+		out.append(String.format("duplicate inserts: %d rows, %d scans admitted twice%n", duplicateRows,
+				doubleAdmits));
+		System.out.println(out);
+	}
+
+	private static double percentile(long[] sortedNanos, int percentile) {
+		if (sortedNanos.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+		return sortedNanos[Math.max(0, index)] / 1e6;
+	}
+
+	private record Arrival(String code, String category) {
+	}
+}
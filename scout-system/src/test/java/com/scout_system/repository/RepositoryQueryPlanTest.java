@@ -0,0 +1,242 @@
+package com.scout_system.repository;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs every query declared on the repositories, captures the SQL Hibernate
+ * sends, and checks its EXPLAIN QUERY PLAN: attendance and taxes grow every
+ * meeting day, so they must be reached through an index, never a full SCAN.
+ * A new repository method fails this test until it is listed below.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "com.scout_system.repository.RepositoryQueryPlanTest$CapturingStatementInspector")
+class RepositoryQueryPlanTest {
+
+	private static final LocalDate TODAY = LocalDate.of(2026, 1, 4);
+	private static final Pattern TABLE_ALIAS = Pattern
+			.compile("(?i)\\b(?:from|join|into|update)\\s+(attendance|taxes)(?:\\s+(?:as\\s+)?(\\w+))?");
+	private static final Pattern SCAN = Pattern.compile("^SCAN (\\w+)");
+
+	@Autowired
+	private AttendanceRepository attendanceRepository;
+
+	@Autowired
+	private TaxRepository taxRepository;
+
+	@Autowired
+	private MemberRepository memberRepository;
+
+	@Autowired
+	private ActivityRepository activityRepository;
+
+	@Autowired
+	private AdminRepository adminRepository;
+
+	@Autowired
+	private DashboardRepository dashboardRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) throws IOException {
+		Path dir = Files.createTempDirectory("query-plan");
+		registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + dir.resolve("scout-system.db"));
+	}
+
+	private Map<String, Runnable> queries() {
+		Map<String, Runnable> queries = new LinkedHashMap<>();
+
+		queries.put("AttendanceRepository.hasAlreadyAttendedToday",
+				() -> attendanceRepository.hasAlreadyAttendedToday("0001", TODAY, "Buds", false));
+		queries.put("AttendanceRepository.findAdmissionsByDateOfDay",
+				() -> attendanceRepository.findAdmissionsByDateOfDay(TODAY));
+		queries.put("AttendanceRepository.findCountedStatusesByDateOfDay",
+				() -> attendanceRepository.findCountedStatusesByDateOfDay(TODAY, List.of()));
+		queries.put("AttendanceRepository.findAllWithNamesByDateOfDay",
+				() -> attendanceRepository.findAllWithNamesByDateOfDay(TODAY, List.of("Buds")));
+		queries.put("AttendanceRepository.getCountPresentToday", () -> attendanceRepository.getCountPresentToday(TODAY));
+		queries.put("AttendanceRepository.getCountAbsentToday",
+				() -> attendanceRepository.getCountAbsentToday(TODAY, List.of("Buds")));
+		queries.put("AttendanceRepository.findLateMembersByDate", () -> attendanceRepository.findLateMembersByDate(TODAY));
+		queries.put("AttendanceRepository.getLastCheckInAtByDate",
+				() -> attendanceRepository.getLastCheckInAtByDate(TODAY));
+		queries.put("AttendanceRepository.markPresent",
+				() -> attendanceRepository.markPresent("0001", 3, TODAY.toString(), 0L));
+		queries.put("AttendanceRepository.insertCheckIn",
+				() -> attendanceRepository.insertCheckIn("0001", 3, TODAY.toString(), 0L));
+		queries.put("AttendanceRepository.insertAbsentees",
+				() -> attendanceRepository.insertAbsentees(3, TODAY.toString()));
+		queries.put("AttendanceRepository.findMeetingDaysBetween",
+				() -> attendanceRepository.findMeetingDaysBetween(TODAY.minusDays(14), TODAY));
+		queries.put("AttendanceRepository.lastInsertId", () -> attendanceRepository.lastInsertId());
+		queries.put("AttendanceRepository.existsByMemberCodeAndDateOfDayAndCategory",
+				() -> attendanceRepository.existsByMemberCodeAndDateOfDayAndCategory("0001", TODAY, "Buds"));
+		queries.put("AttendanceRepository.findTodayByCategory",
+				() -> attendanceRepository.findTodayByCategory(TODAY, null, List.of("Buds", "Cubs and Blossoms")));
+		queries.put("AttendanceRepository.streamHistory",
+				() -> attendanceRepository.streamHistory(TODAY.minusYears(1), TODAY, null, TODAY, List.of()).close());
+		queries.put("AttendanceRepository.deleteOldRecords", () -> attendanceRepository.deleteOldRecords(TODAY));
+
+		queries.put("TaxRepository.getTotalTaxPerDay", () -> taxRepository.getTotalTaxPerDay().close());
+		queries.put("TaxRepository.getAllAmount", () -> taxRepository.getAllAmount());
+		queries.put("TaxRepository.getTotalTaxBetween",
+				() -> taxRepository.getTotalTaxBetween(TODAY.withDayOfMonth(1).toString(),
+						TODAY.plusMonths(1).withDayOfMonth(1).toString()));
+		queries.put("TaxRepository.getTotalTransactionDays", () -> taxRepository.getTotalTransactionDays());
+		queries.put("TaxRepository.getTodaysAttendanceWithTax",
+				() -> taxRepository.getTodaysAttendanceWithTax(TODAY, null));
+		queries.put("TaxRepository.streamHistory",
+				() -> taxRepository.streamHistory(TODAY.minusYears(1), TODAY, null).close());
+		queries.put("TaxRepository.insertTaxUnlessScoutLeader",
+				() -> taxRepository.insertTaxUnlessScoutLeader(1L, "0001", -1));
+		queries.put("TaxRepository.findAmountAndDayById", () -> taxRepository.findAmountAndDayById(1L));
+		queries.put("TaxRepository.getCountLateByDate", () -> taxRepository.getCountLateByDate(TODAY));
+		queries.put("TaxRepository.updateTaxAmount", () -> taxRepository.updateTaxAmount(1L, 10));
+		queries.put("TaxRepository.findMembersWithUpdatedTax", () -> taxRepository.findMembersWithUpdatedTax(TODAY));
+		queries.put("TaxRepository.deleteOldRecords", () -> taxRepository.deleteOldRecords(TODAY));
+
+		queries.put("MemberRepository.existsById", () -> memberRepository.existsById("0001"));
+		queries.put("MemberRepository.deleteByCode", () -> memberRepository.deleteByCode("0001"));
+		queries.put("MemberRepository.findByCode", () -> memberRepository.findByCode("0001"));
+		queries.put("MemberRepository.findTitleByCode", () -> memberRepository.findTitleByCode("0001"));
+		queries.put("MemberRepository.getCountAllMember", () -> memberRepository.getCountAllMember());
+		queries.put("MemberRepository.findByCategory", () -> memberRepository.findByCategory("Buds"));
+		queries.put("MemberRepository.findAllNotSent", () -> memberRepository.findAllNotSent());
+		queries.put("MemberRepository.streamMemberRows", () -> memberRepository.streamMemberRows(true).close());
+		queries.put("MemberRepository.totalMessageSent", () -> memberRepository.totalMessageSent());
+		queries.put("MemberRepository.findPageByCode", () -> memberRepository.findPageByCode("0001", null, 3, 51));
+		queries.put("MemberRepository.findPageByName",
+				() -> memberRepository.findPageByName("A", "0001", "Scout", null, 51));
+		queries.put("MemberRepository.searchMembers", () -> memberRepository.searchMembers("\"محمد\"*", 20));
+		queries.put("MemberRepository.insertSearchEntry",
+				() -> memberRepository.insertSearchEntry("0001", "محمد", "0100", "القاهره"));
+		queries.put("MemberRepository.deleteSearchEntry", () -> memberRepository.deleteSearchEntry("0001"));
+
+		queries.put("ActivityRepository.streamAllBy", () -> activityRepository.streamAllBy().close());
+		queries.put("ActivityRepository.findUpcomingActivities", () -> activityRepository.findUpcomingActivities());
+		queries.put("ActivityRepository.markCompletedActivity", () -> activityRepository.markCompletedActivity(1L));
+		queries.put("ActivityRepository.getCountForAllActivitry", () -> activityRepository.getCountForAllActivitry());
+		queries.put("ActivityRepository.getCountCompletedActivity",
+				() -> activityRepository.getCountCompletedActivity());
+		queries.put("ActivityRepository.getCountUpcomingActivity", () -> activityRepository.getCountUpcomingActivity());
+		queries.put("ActivityRepository.deleteUpcomingById", () -> activityRepository.deleteUpcomingById(1L));
+
+		queries.put("AdminRepository.existsByUserName", () -> adminRepository.existsByUserName("admin"));
+		queries.put("AdminRepository.findByUserName", () -> adminRepository.findByUserName("admin"));
+
+		queries.put("DashboardRepository.getDashboardSummary", () -> dashboardRepository.getDashboardSummary());
+
+		return queries;
+	}
+
+	@Test
+	void everyRepositoryQueryIsCovered() {
+		Set<String> covered = queries().keySet();
+		List<String> missing = new ArrayList<>();
+
+		for (Class<?> repository : List.of(AttendanceRepository.class, TaxRepository.class, MemberRepository.class,
+				ActivityRepository.class, AdminRepository.class, DashboardRepository.class)) {
+			for (Method method : repository.getDeclaredMethods()) {
+				String name = repository.getSimpleName() + "." + method.getName();
+				if (!method.isSynthetic() && !covered.contains(name)) {
+					missing.add(name);
+				}
+			}
+		}
+
+		assertTrue(missing.isEmpty(), "Add these repository methods to RepositoryQueryPlanTest: " + missing);
+	}
+
+	@Test
+	void hotTablesAreNeverFullyScanned() {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		List<String> failures = new ArrayList<>();
+
+		queries().forEach((name, query) -> {
+			CapturingStatementInspector.STATEMENTS.clear();
+			transaction.executeWithoutResult(status -> {
+				query.run();
+				status.setRollbackOnly();
+			});
+
+			for (String sql : CapturingStatementInspector.STATEMENTS) {
+				List<String> scans = hotTableScans(sql);
+				if (!scans.isEmpty()) {
+					failures.add(name + " scans " + scans + "\n    " + sql.replaceAll("\\s+", " "));
+				}
+			}
+		});
+
+		if (!failures.isEmpty()) {
+			fail("Full table scans on hot tables:\n" + String.join("\n", failures));
+		}
+	}
+
+	private List<String> hotTableScans(String sql) {
+		Set<String> hotNames = new HashSet<>();
+		Matcher alias = TABLE_ALIAS.matcher(sql);
+		while (alias.find()) {
+			hotNames.add(alias.group(1).toLowerCase());
+			if (alias.group(2) != null) {
+				hotNames.add(alias.group(2).toLowerCase());
+			}
+		}
+		hotNames.removeAll(Set.of("where", "set", "on", "join", "inner", "left", "select", "values", "group",
+				"order"));
+		if (hotNames.isEmpty()) {
+			return List.of();
+		}
+
+		Object[] nulls = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+		List<String> scans = new ArrayList<>();
+		for (Map<String, Object> step : jdbcTemplate.queryForList("EXPLAIN QUERY PLAN " + sql, nulls)) {
+			String detail = String.valueOf(step.get("detail"));
+			Matcher scan = SCAN.matcher(detail);
+			if (scan.find() && hotNames.contains(scan.group(1).toLowerCase())) {
+				scans.add(detail);
+			}
+		}
+		return scans;
+	}
+
+	public static class CapturingStatementInspector implements StatementInspector {
+
+		static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			STATEMENTS.add(sql);
+			return sql;
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package com.scout_system.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Drives taxes and attendance through each kind of write the app makes and
+ * checks that the tax_daily_summary triggers leave the rollup equal to the
+ * aggregate it replaces, and that the revenue queries read it.
+ */
+@SpringBootTest
+class TaxDailySummaryTest {
+
+	private static final String DAY = "2000-01-03";
+	private static final String ROLLUP = """
+			SELECT a.date_of_day, a.category_id, SUM(MAX(t.amount, 0)) AS total_amount, COUNT(*) AS tax_count
+			FROM taxes t JOIN attendance a ON a.id = t.attendance_id
+			GROUP BY a.date_of_day, a.category_id
+			ORDER BY a.date_of_day, a.category_id
+			""";
+
+	@Autowired
+	private TaxRepository taxRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) throws IOException {
+		Path dir = Files.createTempDirectory("tax-summary");
+		registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + dir.resolve("scout-system.db"));
+	}
+
+	@Test
+	void summaryFollowsEveryTaxWrite() {
+		jdbcTemplate.update("""
+				INSERT INTO members (code, full_name, title, date_of_birth, phone, address, is_sent)
+				VALUES ('T001', 'Test', 'Scout', '2010-01-01', '0100', 'Cairo', 0),
+				       ('T002', 'Test', 'Scout', '2010-01-01', '0100', 'Cairo', 0)
+				""");
+		long first = attend("T001", 1);
+		long second = attend("T002", 1);
+
+		long paid = tax(first, 20);
+		long late = tax(second, -1);
+		assertSummary(List.of(row(DAY, 1, 20, 2)));
+
+		new TransactionTemplate(transactionManager)
+				.executeWithoutResult(status -> taxRepository.updateTaxAmount(late, 15));
+		assertSummary(List.of(row(DAY, 1, 35, 2)));
+		assertEquals(35L, taxRepository.getAllAmount());
+		assertEquals(35L, taxRepository.getTotalTaxBetween("2000-01-01", "2000-02-01"));
+		assertEquals(1L, taxRepository.getTotalTransactionDays());
+
+		// An attendance row moved to another category takes its taxes along
+		jdbcTemplate.update("UPDATE attendance SET category_id = 2 WHERE id = ?", second);
+		assertSummary(List.of(row(DAY, 1, 20, 1), row(DAY, 2, 15, 1)));
+
+		// Member deletes remove the attendance row, taxes may go first or after
+		jdbcTemplate.update("DELETE FROM attendance WHERE id = ?", second);
+		jdbcTemplate.update("DELETE FROM taxes WHERE attendance_id = ?", second);
+		jdbcTemplate.update("DELETE FROM taxes WHERE id = ?", paid);
+		assertSummary(List.of());
+
+		tax(first, 0);
+		assertSummary(List.of(row(DAY, 1, 0, 1)));
+		assertEquals(1L, taxRepository.getTotalTransactionDays());
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			try (var days = taxRepository.getTotalTaxPerDay()) {
+				assertEquals(0, days.count()); // a day without revenue is not listed
+			}
+		});
+
+		// Retention deletes taxes, then attendance
+		new TransactionTemplate(transactionManager)
+				.executeWithoutResult(status -> taxRepository.deleteOldRecords(LocalDate.parse("2000-02-01")));
+		jdbcTemplate.update("DELETE FROM attendance WHERE date_of_day < '2000-02-01'");
+		assertSummary(List.of());
+	}
+
+	private long attend(String memberCode, int categoryId) {
+		jdbcTemplate.update(
+				"INSERT INTO attendance (member_code, category_id, date_of_day, status) VALUES (?, ?, ?, 'Present')",
+				memberCode, categoryId, DAY);
+		return jdbcTemplate.queryForObject("SELECT id FROM attendance WHERE member_code = ?", Long.class, memberCode);
+	}
+
+	private long tax(long attendanceId, int amount) {
+		return jdbcTemplate.queryForObject("INSERT INTO taxes (attendance_id, amount) VALUES (?, ?) RETURNING id",
+				Long.class, attendanceId, amount);
+	}
+
+	private void assertSummary(List<Map<String, Object>> expected) {
+		List<Map<String, Object>> summary = jdbcTemplate
+				.queryForList("SELECT * FROM tax_daily_summary ORDER BY date_of_day, category_id");
+		assertEquals(expected.toString(), summary.toString());
+		assertEquals(jdbcTemplate.queryForList(ROLLUP).toString(), summary.toString());
+	}
+
+	private static Map<String, Object> row(String day, int categoryId, int totalAmount, int taxCount) {
+		Map<String, Object> row = new LinkedHashMap<>();
+		row.put("date_of_day", day);
+		row.put("category_id", categoryId);
+		row.put("total_amount", totalAmount);
+		row.put("tax_count", taxCount);
+		return row;
+	}
+}
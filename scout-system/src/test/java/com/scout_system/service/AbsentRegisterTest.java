@@ -0,0 +1,125 @@
+package com.scout_system.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.scout_system.model.Category;
+import com.scout_system.repository.AttendanceRepository;
+import com.scout_system.util.CheckInTimes;
+
+/**
+ * The first scan of a category writes Absent rows for the rest of its
+ * members. Until the category's absent_at those members have not missed
+ * anything yet: the lists, counts and exports leave them out, and show them
+ * once the register closes.
+ */
+@SpringBootTest
+class AbsentRegisterTest {
+
+	private static final LocalDate TODAY = LocalDate.now(CheckInTimes.CAIRO);
+
+	@Autowired
+	private AttendanceService attendanceService;
+
+	@Autowired
+	private AttendanceRepository attendanceRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final Map<Category, LocalTime> absentAt = new HashMap<>();
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) throws IOException {
+		Path dir = Files.createTempDirectory("absent-register");
+		registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + dir.resolve("scout-system.db"));
+	}
+
+	@BeforeEach
+	void keepRegisterTimes() {
+		CategoryRegistry.all().forEach(category -> absentAt.put(category, category.getAbsentAt()));
+	}
+
+	@AfterEach
+	void restoreRegisterTimes() {
+		absentAt.forEach(Category::setAbsentAt);
+	}
+
+	@Test
+	void absentRowsShowOnceTheRegisterCloses() {
+		jdbcTemplate.update("""
+				INSERT INTO members (code, full_name, title, date_of_birth, phone, address, is_sent)
+				VALUES ('T001', 'Test', 'Scout', '2010-01-01', '0100', 'Cairo', 0),
+				       ('T002', 'Test', 'Scout', '2010-01-01', '0100', 'Cairo', 0),
+				       ('T003', 'Test', 'Scout', '2010-01-01', '0100', 'Cairo', 0)
+				""");
+		int buds = CategoryRegistry.find("Buds").getId();
+		jdbcTemplate.update("INSERT INTO member_categories (member_code, category_id) VALUES "
+				+ "('T001', ?), ('T002', ?), ('T003', ?)", buds, buds, buds);
+		// Last meeting's absentee stays in the history whatever the time
+		jdbcTemplate.update("INSERT INTO attendance (member_code, category_id, date_of_day, status) "
+				+ "VALUES ('T003', ?, ?, 'Absent')", buds, TODAY.minusDays(7).toString());
+
+		registersCloseAt(LocalTime.MAX);
+		attendanceService.checkIn("T001", "Buds", 0);
+
+		assertEquals(List.of("T001 Present"), todayList());
+		assertEquals(List.of("T001 Present"), byCategory());
+		assertEquals(List.of(TODAY.minusDays(7) + " T003 Absent", TODAY + " T001 Present"), export());
+		assertEquals(0L, attendanceService.getCountAbsentToday());
+		assertEquals(0L, attendanceRepository.getCountAbsentToday(TODAY, closedNow()));
+
+		registersCloseAt(LocalTime.MIN);
+		attendanceService.markAbsent("Buds", TODAY, "test");
+
+		assertEquals(List.of("T001 Present", "T002 Absent", "T003 Absent"), todayList());
+		assertEquals(List.of("T001 Present", "T002 Absent", "T003 Absent"), byCategory());
+		assertEquals(List.of(TODAY.minusDays(7) + " T003 Absent", TODAY + " T001 Present", TODAY + " T002 Absent",
+				TODAY + " T003 Absent"), export());
+		assertEquals(2L, attendanceService.getCountAbsentToday());
+		assertEquals(2L, attendanceRepository.getCountAbsentToday(TODAY, closedNow()));
+	}
+
+	private static List<String> closedNow() {
+		return CategoryRegistry.closedAt(LocalTime.now(CheckInTimes.CAIRO));
+	}
+
+	private void registersCloseAt(LocalTime time) {
+		CategoryRegistry.all().forEach(category -> category.setAbsentAt(time));
+	}
+
+	private List<String> todayList() {
+		return attendanceService.getAllAttendancesPerToday().stream()
+				.map(row -> row.memberCode() + " " + row.status()).sorted().toList();
+	}
+
+	private List<String> byCategory() {
+		return attendanceService.getTodayByCategory("Buds").get("Buds").stream()
+				.map(row -> row.code() + " " + row.status()).sorted().toList();
+	}
+
+	private List<String> export() {
+		List<String> rows = new ArrayList<>();
+		attendanceService.forEachAttendanceBetween(TODAY.minusDays(30), TODAY, "Buds",
+				row -> rows.add(row.date() + " " + row.memberCode() + " " + row.status()));
+		return rows;
+	}
+}
@@ -0,0 +1,74 @@
+package com.scout_system.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.scout_system.dto.CheckInResult;
+import com.scout_system.dto.CheckInResult.Outcome;
+import com.scout_system.dto.CheckInScan;
+import com.scout_system.util.CheckInTimes;
+
+/**
+ * A scanner's offline buffer replayed through checkInBatch. Only scans from
+ * today's batch window are written; an older one is refused on its own and
+ * leaves no attendance, tax or Absent rows on the day it claims.
+ */
+@SpringBootTest
+class CheckInBatchTest {
+
+	private static final LocalDate TODAY = LocalDate.now(CheckInTimes.CAIRO);
+
+	@Autowired
+	private AttendanceService attendanceService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) throws IOException {
+		Path dir = Files.createTempDirectory("check-in-batch");
+		registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + dir.resolve("scout-system.db"));
+	}
+
+	@Test
+	void scansOutsideTheWindowAreRefused() {
+		jdbcTemplate.update("""
+				INSERT INTO members (code, full_name, title, date_of_birth, phone, address, is_sent)
+				VALUES ('T001', 'Test', 'Scout', '2010-01-01', '0100', 'Cairo', 0),
+				       ('T002', 'Test', 'Scout', '2010-01-01', '0100', 'Cairo', 0),
+				       ('T003', 'Test', 'Scout', '2010-01-01', '0100', 'Cairo', 0)
+				""");
+		int buds = CategoryRegistry.find("Buds").getId();
+		jdbcTemplate.update("INSERT INTO member_categories (member_code, category_id) VALUES "
+				+ "('T001', ?), ('T002', ?), ('T003', ?)", buds, buds, buds);
+		Instant now = Instant.now();
+
+		List<CheckInResult> results = attendanceService.checkInBatch(List.of(
+				new CheckInScan("T001", "Buds", now.minus(7, ChronoUnit.DAYS)),
+				new CheckInScan("T002", "Buds", now.minus(1, ChronoUnit.DAYS)),
+				new CheckInScan("T003", "Buds", null)));
+
+		assertEquals(List.of(Outcome.STALE_SCAN, Outcome.STALE_SCAN, Outcome.CHECKED_IN),
+				results.stream().map(CheckInResult::outcome).toList());
+		assertEquals(List.of(TODAY.toString()),
+				jdbcTemplate.queryForList("SELECT DISTINCT date_of_day FROM attendance", String.class));
+		assertEquals(List.of("T003"), jdbcTemplate.queryForList(
+				"SELECT member_code FROM attendance WHERE status = 'Present'", String.class));
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM taxes t JOIN attendance a "
+				+ "ON a.id = t.attendance_id WHERE a.date_of_day <> ?", Integer.class, TODAY.toString()));
+	}
+}
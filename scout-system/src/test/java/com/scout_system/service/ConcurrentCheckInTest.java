@@ -0,0 +1,87 @@
+package com.scout_system.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.scout_system.dto.CheckInResult;
+import com.scout_system.dto.CheckInResult.Outcome;
+import com.scout_system.util.CheckInTimes;
+
+/**
+ * Two gates scanning the same card at once. The check-ins race past the
+ * roster straight into the insert; the unique key lets exactly one through,
+ * with its one tax, and the others come back as already attended.
+ */
+@SpringBootTest
+class ConcurrentCheckInTest {
+
+	private static final int GATES = 8;
+
+	@Autowired
+	private AttendanceService attendanceService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) throws IOException {
+		Path dir = Files.createTempDirectory("concurrent-check-in");
+		registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + dir.resolve("scout-system.db"));
+	}
+
+	@Test
+	void sameMemberSameDayIsCheckedInOnce() throws Exception {
+		jdbcTemplate.update("""
+				INSERT INTO members (code, full_name, title, date_of_birth, phone, address, is_sent)
+				VALUES ('T001', 'Test', 'Scout', '2010-01-01', '0100', 'Cairo', 0)
+				""");
+		jdbcTemplate.update("INSERT INTO member_categories (member_code, category_id) VALUES ('T001', ?)",
+				CategoryRegistry.find("Buds").getId());
+
+		ExecutorService gates = Executors.newFixedThreadPool(GATES);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<CheckInResult>> results = new ArrayList<>();
+		try {
+			for (int i = 0; i < GATES; i++) {
+				results.add(gates.submit(() -> {
+					start.await();
+					return attendanceService.checkIn("T001", "Buds", 20);
+				}));
+			}
+			start.countDown();
+
+			List<Outcome> outcomes = new ArrayList<>();
+			for (Future<CheckInResult> result : results) {
+				outcomes.add(result.get().outcome());
+			}
+			assertEquals(1, outcomes.stream().filter(Outcome.CHECKED_IN::equals).count());
+			assertEquals(GATES - 1, outcomes.stream().filter(Outcome.ALREADY_ATTENDED::equals).count());
+		} finally {
+			gates.shutdownNow();
+		}
+
+		String today = LocalDate.now(CheckInTimes.CAIRO).toString();
+		assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attendance "
+				+ "WHERE member_code = 'T001' AND date_of_day = ?", Integer.class, today));
+		assertEquals(List.of(20), jdbcTemplate.queryForList("SELECT t.amount FROM taxes t JOIN attendance a "
+				+ "ON a.id = t.attendance_id WHERE a.member_code = 'T001' AND a.date_of_day = ?", Integer.class,
+				today));
+	}
+}
@@ -0,0 +1,92 @@
+package com.scout_system.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.scout_system.model.Category;
+import com.scout_system.util.CheckInTimes;
+
+/**
+ * The first check-in of a category's day writes the Absent roster, which
+ * reloads the counters after commit. The check-in's own delta must not be
+ * applied again on top of that reload, and the roster's Absent rows only
+ * count once the category's register closes.
+ */
+@SpringBootTest
+class LiveCountersTest {
+
+	@Autowired
+	private AttendanceService attendanceService;
+
+	@Autowired
+	private LiveCounters liveCounters;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final Map<Category, LocalTime> absentAt = new HashMap<>();
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) throws IOException {
+		Path dir = Files.createTempDirectory("live-counters");
+		registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + dir.resolve("scout-system.db"));
+	}
+
+	@BeforeEach
+	void keepRegisterTimes() {
+		CategoryRegistry.all().forEach(category -> absentAt.put(category, category.getAbsentAt()));
+	}
+
+	@AfterEach
+	void restoreRegisterTimes() {
+		absentAt.forEach(Category::setAbsentAt);
+	}
+
+	@Test
+	void firstCheckInOfTheDayIsCountedOnce() {
+		CategoryRegistry.all().forEach(category -> category.setAbsentAt(LocalTime.MAX));
+		jdbcTemplate.update("""
+				INSERT INTO members (code, full_name, title, date_of_birth, phone, address, is_sent)
+				VALUES ('T001', 'Test', 'Scout', '2010-01-01', '0100', 'Cairo', 0),
+				       ('T002', 'Test', 'Scout', '2010-01-01', '0100', 'Cairo', 0),
+				       ('T003', 'Test', 'Scout', '2010-01-01', '0100', 'Cairo', 0)
+				""");
+		int buds = CategoryRegistry.find("Buds").getId();
+		jdbcTemplate.update("INSERT INTO member_categories (member_code, category_id) VALUES "
+				+ "('T001', ?), ('T002', ?), ('T003', ?)", buds, buds, buds);
+		liveCounters.reconcile();
+
+		attendanceService.checkIn("T001", "Buds", 20);
+		assertCounters(1, 0, 0, 20);
+
+		attendanceService.checkIn("T002", "Buds", 15);
+		assertCounters(2, 0, 0, 35);
+
+		CategoryRegistry.all().forEach(category -> category.setAbsentAt(LocalTime.MIN));
+		attendanceService.markAbsent("Buds", LocalDate.now(CheckInTimes.CAIRO), "test");
+		assertCounters(2, 1, 0, 35);
+	}
+
+	private void assertCounters(long present, long absent, long late, long revenue) {
+		assertEquals(List.of(present, absent, late, revenue, revenue),
+				List.of(liveCounters.presentToday(), liveCounters.absentToday(), liveCounters.lateToday(),
+						liveCounters.totalRevenue(), liveCounters.currentMonthRevenue()));
+	}
+}
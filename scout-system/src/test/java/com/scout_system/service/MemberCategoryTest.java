@@ -0,0 +1,63 @@
+package com.scout_system.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.scout_system.model.Member;
+
+/**
+ * Category names sent for a member are trimmed and matched like the
+ * categories table spells them; a name that matches nothing is rejected
+ * instead of leaving the member without that category.
+ */
+@SpringBootTest
+class MemberCategoryTest {
+
+	@Autowired
+	private MemberService memberService;
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) throws IOException {
+		Path dir = Files.createTempDirectory("member-category");
+		registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + dir.resolve("scout-system.db"));
+	}
+
+	@Test
+	void namesAreTrimmedAndMatchedCaseInsensitively() {
+		memberService.addMember(member("T001", " buds ,Cubs and Blossoms,"));
+
+		assertEquals("Cubs and Blossoms, Buds", memberService.findById("T001").getCategory());
+	}
+
+	@Test
+	void anUnknownNameIsRejected() {
+		IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+				() -> memberService.addMember(member("T002", "Buds, Bud")));
+
+		assertEquals("Unknown category: Bud", error.getMessage());
+		assertFalse(memberService.checkCode("T002"));
+	}
+
+	private static Member member(String code, String category) {
+		Member member = new Member();
+		member.setCode(code);
+		member.setFullName("Test");
+		member.setTitle("Scout");
+		member.setDateOfBirth("2010-01-01");
+		member.setPhone("0100");
+		member.setAddress("Cairo");
+		member.setCategory(category);
+		return member;
+	}
+}
@@ -0,0 +1,110 @@
+package com.scout_system.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.scout_system.dto.MemberPage;
+import com.scout_system.dto.MemberSummary;
+import com.scout_system.util.ArabicText;
+
+/**
+ * The paged member list and search. Pages follow a keyset cursor on (name,
+ * code), so members sharing a name are neither repeated nor skipped across a
+ * page boundary. Filters are checked like the other category endpoints, so a
+ * misspelt category is an error rather than an empty page.
+ */
+@SpringBootTest
+class MemberPageTest {
+
+	@Autowired
+	private MemberService memberService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) throws IOException {
+		Path dir = Files.createTempDirectory("member-page");
+		registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + dir.resolve("scout-system.db"));
+	}
+
+	@BeforeEach
+	void seed() {
+		jdbcTemplate.update("DELETE FROM member_search");
+		jdbcTemplate.update("DELETE FROM members");
+		jdbcTemplate.update("""
+				INSERT INTO members (code, full_name, title, date_of_birth, phone, address, is_sent)
+				VALUES ('T005', 'أحمد علي', 'Scout', '2010-01-01', '0100', 'Cairo', 0),
+				       ('T002', 'أحمد علي', 'Scout', '2010-01-01', '0100', 'Cairo', 0),
+				       ('T004', 'أحمد علي', 'Scout', '2010-01-01', '0100', 'Cairo', 0),
+				       ('T001', 'فاطمة حسن', 'Scout', '2010-01-01', '0100', 'Cairo', 0),
+				       ('T003', 'بسمة', 'Scout', '2010-01-01', '0100', 'Cairo', 0)
+				""");
+		// Indexed the way saveMember does
+		jdbcTemplate.queryForList("SELECT code, full_name FROM members").forEach(member -> jdbcTemplate.update(
+				"INSERT INTO member_search (code, full_name, phone, address) VALUES (?, ?, '0100', 'cairo')",
+				member.get("code"), ArabicText.normalize((String) member.get("full_name"))));
+	}
+
+	@Test
+	void pagesByNameWalkTiesInCodeOrder() {
+		assertEquals(List.of("أحمد علي T002", "أحمد علي T004", "أحمد علي T005", "بسمة T003",
+				"فاطمة حسن T001"), walk("name"));
+	}
+
+	@Test
+	void pagesByCodeWalkEveryMemberOnce() {
+		assertEquals(List.of("فاطمة حسن T001", "أحمد علي T002", "بسمة T003", "أحمد علي T004",
+				"أحمد علي T005"), walk("code"));
+	}
+
+	@Test
+	void searchMatchesOtherSpellingsOfAName() {
+		assertEquals(List.of("T001"), codes(memberService.searchMembers("فاطمه", 10)));
+		assertEquals(List.of("T002", "T004", "T005"),
+				codes(memberService.searchMembers("احمد", 10)).stream().sorted().toList());
+	}
+
+	@Test
+	void aBadCursorIsRejected() {
+		assertThrows(IllegalArgumentException.class, () -> memberService.getMemberPage("name", null, null, "!", 2));
+	}
+
+	@Test
+	void anUnknownCategoryIsRejected() {
+		IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+				() -> memberService.getMemberPage("code", "Bud", null, null, 10));
+
+		assertEquals("Unknown category: Bud", error.getMessage());
+	}
+
+	// Two members a page, following nextCursor to the end
+	private List<String> walk(String sort) {
+		List<String> members = new ArrayList<>();
+		String cursor = null;
+		do {
+			MemberPage page = memberService.getMemberPage(sort, null, null, cursor, 2);
+			page.members().forEach(member -> members.add(member.fullName() + " " + member.code()));
+			cursor = page.nextCursor();
+		} while (cursor != null);
+		return members;
+	}
+
+	private static List<String> codes(List<MemberSummary> members) {
+		return members.stream().map(MemberSummary::code).toList();
+	}
+}
@@ -0,0 +1,125 @@
+package com.scout_system.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.scout_system.repository.AttendanceRepository;
+import com.scout_system.util.CheckInTimes;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * The roster on a clock the test moves: it drops the previous day at
+ * midnight even before the rollover job runs, and a pre-materialized Absent
+ * row lets its member in until the category's absent_at (11:51 for Buds),
+ * then blocks the scan.
+ */
+@SpringBootTest
+class TodayRosterTest {
+
+	private static final LocalDate DAY = LocalDate.of(2026, 1, 4);
+
+	@Autowired
+	private AttendanceRepository attendanceRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final MovableClock clock = new MovableClock();
+	private TodayRoster roster;
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) throws IOException {
+		Path dir = Files.createTempDirectory("today-roster");
+		registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + dir.resolve("scout-system.db"));
+	}
+
+	@BeforeEach
+	void seed() {
+		jdbcTemplate.update("DELETE FROM attendance");
+		jdbcTemplate.update("DELETE FROM members");
+		jdbcTemplate.update("""
+				INSERT INTO members (code, full_name, title, date_of_birth, phone, address, is_sent)
+				VALUES ('T001', 'Test', 'Scout', '2010-01-01', '0100', 'Cairo', 0),
+				       ('T002', 'Test', 'Scout', '2010-01-01', '0100', 'Cairo', 0)
+				""");
+		jdbcTemplate.update("INSERT INTO attendance (member_code, category_id, check_in_at, date_of_day, status) "
+				+ "VALUES ('T001', ?, 0, ?, 'Present'), ('T002', ?, NULL, ?, 'Absent')", buds(), DAY.toString(),
+				buds(), DAY.toString());
+		roster = new TodayRoster(attendanceRepository, new JobRunner(new SimpleMeterRegistry()), clock);
+	}
+
+	@Test
+	void theDayRollsOverAtMidnight() {
+		clock.set(DAY.atTime(23, 59, 59));
+		roster.warmUp();
+		assertTrue(roster.contains("T001", "Buds"));
+		assertTrue(roster.isMaterialized("Buds", DAY));
+
+		clock.set(DAY.plusDays(1).atStartOfDay());
+		assertFalse(roster.contains("T001", "Buds"));
+		assertFalse(roster.isMaterialized("Buds", DAY));
+
+		// A check-in committing late for the old day doesn't leak into the new one
+		roster.admit("T002", "Buds", DAY);
+		assertFalse(roster.contains("T002", "Buds"));
+	}
+
+	@Test
+	void anAbsentMemberIsRefusedOnceTheRegisterCloses() {
+		clock.set(DAY.atTime(11, 50, 59));
+		roster.warmUp();
+		assertFalse(roster.contains("T002", "Buds"));
+
+		clock.set(DAY.atTime(11, 51));
+		assertTrue(roster.contains("T002", "Buds"));
+
+		// Present members were refused all along
+		assertTrue(roster.contains("T001", "Buds"));
+	}
+
+	private static int buds() {
+		return CategoryRegistry.find("Buds").getId();
+	}
+
+	private static final class MovableClock extends Clock {
+
+		private volatile Instant instant = Instant.now();
+
+		void set(LocalDateTime cairoTime) {
+			instant = cairoTime.atZone(CheckInTimes.CAIRO).toInstant();
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return CheckInTimes.CAIRO;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Instant instant() {
+			return instant;
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package com.scout_system.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Spellings of one name fold to one search form.
+ */
+class ArabicTextTest {
+
+	@Test
+	void hamzaAndMaddaFoldToBareAlef() {
+		assertEquals("احمد", ArabicText.normalize("أحمد"));
+		assertEquals("اسلام", ArabicText.normalize("إسلام"));
+		assertEquals("امال", ArabicText.normalize("آمال"));
+		assertEquals("الله", ArabicText.normalize("ٱلله"));
+	}
+
+	@Test
+	void finalLettersFoldToTheirCommonSpelling() {
+		assertEquals("مصطفي", ArabicText.normalize("مصطفى"));
+		assertEquals("فاطمه", ArabicText.normalize("فاطمة"));
+	}
+
+	@Test
+	void harakatAndTatweelAreDropped() {
+		assertEquals("محمد", ArabicText.normalize("مُحَمَّد"));
+		assertEquals("محمد", ArabicText.normalize("محـــمد"));
+		assertEquals("رحمن", ArabicText.normalize("رحمٰن"));
+	}
+
+	@Test
+	void digitsBecomeAsciiAndLatinIsLowerCased() {
+		assertEquals("0123456789", ArabicText.normalize("٠١٢٣٤٥٦٧٨٩"));
+		assertEquals("0123456789", ArabicText.normalize("۰۱۲۳۴۵۶۷۸۹"));
+		assertEquals("scout 12", ArabicText.normalize("Scout ١2"));
+	}
+
+	@Test
+	void nullIsEmpty() {
+		assertEquals("", ArabicText.normalize(null));
+	}
+}
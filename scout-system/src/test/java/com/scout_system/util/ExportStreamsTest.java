@@ -0,0 +1,88 @@
+package com.scout_system.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.w3c.dom.Document;
+
+/**
+ * Writes a few awkward rows through both export formats and reads them back:
+ * CSV quoting and the formula guard, and an XLSX package whose parts are all
+ * well-formed XML with the cells where a spreadsheet expects them.
+ */
+class ExportStreamsTest {
+
+	private static final List<String> COLUMNS = List.of("Date", "Name", "Amount");
+	private static final List<Object[]> ROWS = List.of(
+			new Object[] { LocalDate.of(2026, 1, 4), "أحمد, \"الصغير\"", 20 },
+			new Object[] { LocalDate.of(2026, 1, 5), "=HYPERLINK(\"x\")", null },
+			new Object[] { LocalDate.of(2026, 1, 6), "a < b & c\u0001", -1 });
+
+	private final ExportStreams exportStreams = new ExportStreams();
+
+	@Test
+	void csvQuotesFieldsAndDefusesFormulas() throws IOException {
+		String csv = new String(export("csv"), StandardCharsets.UTF_8);
+
+		assertEquals("\uFEFFDate,Name,Amount\r\n"
+				+ "2026-01-04,\"أحمد, \"\"الصغير\"\"\",20\r\n"
+				+ "2026-01-05,\"'=HYPERLINK(\"\"x\"\")\",\r\n"
+				+ "2026-01-06,a < b & c\u0001,-1\r\n", csv);
+	}
+
+	@Test
+	void xlsxIsAWellFormedWorkbook() throws Exception {
+		List<String> parts = new ArrayList<>();
+		Document sheet = null;
+		try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(export("xlsx")))) {
+			for (ZipEntry entry; (entry = zip.getNextEntry()) != null;) {
+				parts.add(entry.getName());
+				Document part = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+						.parse(new ByteArrayInputStream(zip.readAllBytes()));
+				if (entry.getName().equals("xl/worksheets/sheet1.xml")) {
+					sheet = part;
+				}
+			}
+		}
+
+		assertTrue(parts.containsAll(List.of("[Content_Types].xml", "_rels/.rels", "xl/workbook.xml",
+				"xl/_rels/workbook.xml.rels", "xl/styles.xml", "xl/worksheets/sheet1.xml")), parts.toString());
+		assertEquals(4, sheet.getElementsByTagName("row").getLength());
+		assertEquals("Name", sheet.getElementsByTagName("c").item(1).getTextContent());
+		assertEquals("46026", sheet.getElementsByTagName("c").item(3).getTextContent()); // 2026-01-04
+		assertEquals("أحمد, \"الصغير\"", sheet.getElementsByTagName("c").item(4).getTextContent());
+		assertEquals(2, sheet.getElementsByTagName("row").item(2).getChildNodes().getLength()); // null stays empty
+		assertEquals("a < b & c", sheet.getElementsByTagName("c").item(9).getTextContent());
+	}
+
+	@Test
+	void unknownFormatIsRejectedBeforeStreaming() {
+		assertThrows(IllegalArgumentException.class, () -> exportStreams.respond("pdf", "rows", COLUMNS,
+				(Object[] row) -> row, (Consumer<Object[]> action) -> ROWS.forEach(action)));
+	}
+
+	private byte[] export(String format) throws IOException {
+		ResponseEntity<StreamingResponseBody> response = exportStreams.respond(format, "rows", COLUMNS,
+				(Object[] row) -> row, (Consumer<Object[]> action) -> ROWS.forEach(action));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		response.getBody().writeTo(out);
+		return out.toByteArray();
+	}
+}
@@ -0,0 +1,67 @@
+package com.scout_system.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.sqlite.SQLiteDataSource;
+
+/**
+ * A database from before the categories table, as ddl-auto leaves it on the
+ * first start: category names still in attendance and members, next to the
+ * new id column and link table. A name that matches no category stops the
+ * migration before anything is dropped.
+ */
+class SchemaMigrationsTest {
+
+	@Test
+	void unknownCategoryNamesStopTheMigrationWithoutLosingThem() throws IOException {
+		SQLiteDataSource dataSource = new SQLiteDataSource();
+		dataSource.setUrl("jdbc:sqlite:" + Files.createTempDirectory("schema-migrations").resolve("scout-system.db"));
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("""
+				CREATE TABLE categories (id integer PRIMARY KEY, name varchar(255) NOT NULL UNIQUE,
+				    late_after varchar(255) NOT NULL, absent_at varchar(255) NOT NULL)
+				""");
+		jdbcTemplate.execute("CREATE TABLE members (code varchar(255) PRIMARY KEY, full_name varchar(255), "
+				+ "category varchar(255))");
+		jdbcTemplate.execute("CREATE TABLE member_categories (member_code varchar(255) NOT NULL, "
+				+ "category_id integer NOT NULL, PRIMARY KEY (member_code, category_id))");
+		jdbcTemplate.execute("""
+				CREATE TABLE attendance (id integer PRIMARY KEY, member_code varchar(255) NOT NULL,
+				    date_of_day varchar(255) NOT NULL, status varchar(255) NOT NULL, category varchar(255),
+				    category_id integer NOT NULL DEFAULT 0)
+				""");
+		jdbcTemplate.update("""
+				INSERT INTO members (code, full_name, category) VALUES
+				    ('T001', 'Known', 'Buds'),
+				    ('T002', 'Misspelt', 'Scouts and Guides, Rovers')
+				""");
+		jdbcTemplate.update("""
+				INSERT INTO attendance (member_code, date_of_day, status, category) VALUES
+				    ('T001', '2025-01-05', 'Present', ' buds'),
+				    ('T002', '2025-01-05', 'Present', 'Rovers'),
+				    ('T002', '2025-01-12', 'Absent', 'Rovers')
+				""");
+
+		IllegalStateException error = assertThrows(IllegalStateException.class,
+				() -> new SchemaMigrations(dataSource).migrate());
+
+		assertEquals("Categories not migrated, these names match no row in categories: attendance 'Rovers' (2 rows), "
+				+ "members 'Rovers' (1 row). Add them to categories or correct the rows, then restart",
+				error.getMessage());
+		assertEquals(List.of(Map.of("code", "T001", "category", "Buds"),
+				Map.of("code", "T002", "category", "Scouts and Guides, Rovers")),
+				jdbcTemplate.queryForList("SELECT code, category FROM members ORDER BY code"));
+		assertEquals(List.of(" buds", "Rovers", "Rovers"),
+				jdbcTemplate.queryForList("SELECT category FROM attendance ORDER BY id", String.class));
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM member_categories", Integer.class));
+	}
+}
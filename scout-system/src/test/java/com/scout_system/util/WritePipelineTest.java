@@ -0,0 +1,100 @@
+package com.scout_system.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.sqlite.SQLiteDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Commands queued behind a busy writer are committed as one group. When one
+ * of them throws, the group rolls back and each command is replayed in its
+ * own transaction: the others commit, only the bad one fails, and every
+ * caller's future completes.
+ */
+class WritePipelineTest {
+
+	private JdbcTemplate jdbcTemplate;
+	private WritePipeline writePipeline;
+	private final List<String> executed = new CopyOnWriteArrayList<>();
+
+	@BeforeEach
+	void start() throws IOException {
+		SQLiteDataSource dataSource = new SQLiteDataSource();
+		dataSource.setUrl("jdbc:sqlite:" + Files.createTempDirectory("write-pipeline").resolve("scout-system.db"));
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE writes (name varchar(255) NOT NULL)");
+		writePipeline = new WritePipeline(new DataSourceTransactionManager(dataSource), new SimpleMeterRegistry(),
+				16, 32, 2000);
+		writePipeline.start();
+	}
+
+	@AfterEach
+	void stop() throws InterruptedException {
+		writePipeline.stop();
+	}
+
+	@Test
+	void aFailedGroupIsReplayedOneCommandAtATime() throws Exception {
+		CountDownLatch writerBusy = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Void> blocker = writePipeline.submit("blocker", () -> {
+			writerBusy.countDown();
+			await(release);
+		});
+		await(writerBusy);
+
+		IllegalStateException failure = new IllegalStateException("bad command");
+		CompletableFuture<String> first = writePipeline.submit("first", () -> write("first"));
+		CompletableFuture<String> bad = writePipeline.submit("bad", () -> {
+			write("bad");
+			throw failure;
+		});
+		CompletableFuture<String> last = writePipeline.submit("last", () -> write("last"));
+		release.countDown();
+
+		blocker.get(10, TimeUnit.SECONDS);
+		assertEquals("first", first.get(10, TimeUnit.SECONDS));
+		assertEquals("last", last.get(10, TimeUnit.SECONDS));
+		ExecutionException error = assertThrows(ExecutionException.class, () -> bad.get(10, TimeUnit.SECONDS));
+		assertSame(failure, error.getCause());
+
+		// The group ran up to the bad command, then each one on its own
+		assertEquals(List.of("first", "bad", "first", "bad", "last"), executed);
+		assertEquals(List.of("first", "last"),
+				jdbcTemplate.queryForList("SELECT name FROM writes ORDER BY rowid", String.class));
+	}
+
+	private String write(String name) {
+		executed.add(name);
+		jdbcTemplate.update("INSERT INTO writes (name) VALUES (?)", name);
+		return name;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			if (!latch.await(10, TimeUnit.SECONDS)) {
+				throw new IllegalStateException("Timed out waiting for the writer");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+}